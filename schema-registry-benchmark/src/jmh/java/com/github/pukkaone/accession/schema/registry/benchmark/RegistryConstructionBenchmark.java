@@ -0,0 +1,96 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import com.github.pukkaone.accession.schema.registry.domain.SnapshotFile;
+import com.github.pukkaone.accession.schema.registry.repository.WorkingTreeSubjectSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading all subjects from a directory, which the server does on startup and when
+ * commits cannot be compared, and loading a saved snapshot, which the server does on startup
+ * instead when snapshots are enabled.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+public class RegistryConstructionBenchmark {
+
+  private static final String COMMIT_ID = "0123456789abcdef0123456789abcdef01234567";
+
+  @Param({"1000", "10000", "100000"})
+  private int subjectCount;
+
+  @Param("5")
+  private int versionCount;
+
+  private Path subjectsDir;
+  private Path snapshotDir;
+  private SnapshotFile snapshotFile;
+
+  /**
+   * Writes the subjects directory, and a snapshot of the subjects.
+   *
+   * @throws IOException
+   *     if an I/O error occurs
+   */
+  @Setup
+  public void setUp() throws IOException {
+    subjectsDir = SubjectsDirectory.create(subjectCount, versionCount);
+
+    snapshotDir = Files.createTempDirectory("benchmark-snapshot-");
+    var properties = new SchemaRegistryProperties();
+    properties.setSnapshotDirectory(snapshotDir.toString());
+    snapshotFile = new SnapshotFile(properties);
+    snapshotFile.save(
+        new ReadOnlySchemaRegistry(COMMIT_ID, new WorkingTreeSubjectSource(subjectsDir)));
+  }
+
+  /**
+   * Deletes the subjects directory.
+   *
+   * @throws IOException
+   *     if an I/O error occurs
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    SubjectsDirectory.delete(subjectsDir);
+    SubjectsDirectory.delete(snapshotDir);
+  }
+
+  /**
+   * Reads all subjects.
+   *
+   * @return schema registry
+   */
+  @Benchmark
+  public ReadOnlySchemaRegistry construct() {
+    return new ReadOnlySchemaRegistry(subjectsDir);
+  }
+
+  /**
+   * Loads the saved snapshot.
+   *
+   * @return schema registry
+   */
+  @Benchmark
+  public ReadOnlySchemaRegistry loadSnapshot() {
+    return snapshotFile.load();
+  }
+}
@@ -0,0 +1,149 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import com.github.pukkaone.accession.schema.registry.function.SchemaUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups on the request path. Like the controllers, each lookup finds a registration
+ * and gets its pre-serialized response body. Each invocation looks up a different randomly chosen
+ * subject, so the results include cache misses typical of a large registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class RegistryLookupBenchmark {
+
+  private static final int INPUT_COUNT = 1024;
+
+  @Param({"1000", "10000", "100000"})
+  private int subjectCount;
+
+  @Param("5")
+  private int versionCount;
+
+  private ReadOnlySchemaRegistry schemaRegistry;
+  private int[] schemaIds;
+  private String[] subjectNames;
+  private String[] schemas;
+  private long[] fingerprints;
+
+  /**
+   * Position in the inputs, separate for each benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int position;
+
+    int next() {
+      position = (position + 1) & (INPUT_COUNT - 1);
+      return position;
+    }
+  }
+
+  /**
+   * Creates the schema registry and chooses the inputs to look up.
+   *
+   * @throws IOException
+   *     if an I/O error occurs
+   */
+  @Setup
+  public void setUp() throws IOException {
+    Path subjectsDir = SubjectsDirectory.create(subjectCount, versionCount);
+    try {
+      schemaRegistry = new ReadOnlySchemaRegistry(subjectsDir);
+    } finally {
+      SubjectsDirectory.delete(subjectsDir);
+    }
+
+    schemaIds = new int[INPUT_COUNT];
+    subjectNames = new String[INPUT_COUNT];
+    schemas = new String[INPUT_COUNT];
+    fingerprints = new long[INPUT_COUNT];
+    var random = new SplittableRandom(42);
+    for (int i = 0; i < INPUT_COUNT; ++i) {
+      int index = random.nextInt(subjectCount);
+      int version = 1 + random.nextInt(versionCount);
+      schemaIds[i] = SyntheticSubjects.schemaId(index, version);
+      subjectNames[i] = SyntheticSubjects.subjectName(index);
+      schemas[i] = SyntheticSubjects.schema(index, version);
+      fingerprints[i] = SchemaUtils.fingerprint(schemas[i]);
+    }
+  }
+
+  /**
+   * Gets schema by schema ID.
+   *
+   * @param cursor
+   *     position in the inputs
+   * @return response body
+   */
+  @Benchmark
+  public byte[] getSchemaBySchemaId(Cursor cursor) {
+    return schemaRegistry.findRegistrationBySchemaId(schemaIds[cursor.next()])
+        .getBodies()
+        .getSchemaById();
+  }
+
+  /**
+   * Gets latest registration by subject.
+   *
+   * @param cursor
+   *     position in the inputs
+   * @return response body
+   */
+  @Benchmark
+  public byte[] getLatestRegistrationBySubject(Cursor cursor) {
+    return schemaRegistry.findLatestRegistrationBySubjectName(subjectNames[cursor.next()])
+        .getBodies()
+        .getRegistrationByVersion();
+  }
+
+  /**
+   * Gets schema ID by subject and schema whose fingerprint is already known, as when the
+   * fingerprint cache has the request schema.
+   *
+   * @param cursor
+   *     position in the inputs
+   * @return response body
+   */
+  @Benchmark
+  public byte[] getSchemaIdBySubjectAndFingerprint(Cursor cursor) {
+    int i = cursor.next();
+    return schemaRegistry.findRegistrationBySubjectNameAndFingerprint(
+            subjectNames[i], fingerprints[i])
+        .getBodies()
+        .getSchemaIdBySchema();
+  }
+
+  /**
+   * Gets schema ID by subject and schema, parsing the schema, as when the fingerprint cache does
+   * not have the request schema.
+   *
+   * @param cursor
+   *     position in the inputs
+   * @return response body
+   */
+  @Benchmark
+  public byte[] getSchemaIdBySubjectAndSchema(Cursor cursor) {
+    int i = cursor.next();
+    return schemaRegistry.findRegistrationBySubjectNameAndSchema(subjectNames[i], schemas[i])
+        .getBodies()
+        .getSchemaIdBySchema();
+  }
+}
@@ -0,0 +1,95 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing a {@link SchemaResponse} as JSON, which embeds the schema as an escaped string,
+ * and an {@link ErrorResponse}, as the server does once per registration and error message. The gc
+ * profiler reports bytes allocated per operation in {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class SchemaResponseSerializationBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int fieldCount;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SchemaResponse schemaOnly;
+  private SchemaResponse registration;
+  private ErrorResponse error;
+
+  /**
+   * Creates the responses to write.
+   */
+  @Setup
+  public void setUp() {
+    String schema = SyntheticSubjects.schema(0, fieldCount);
+    schemaOnly = SchemaResponse.builder()
+        .schema(schema)
+        .build();
+    registration = SchemaResponse.builder()
+        .id(SyntheticSubjects.schemaId(0, fieldCount))
+        .name(SyntheticSubjects.subjectName(0))
+        .version(fieldCount)
+        .schema(schema)
+        .build();
+    error = ErrorResponse.builder()
+        .errorCode(ErrorResponse.NOT_REGISTERED_CODE)
+        .message("Schema not registered for subject [" + SyntheticSubjects.subjectName(0) + "]")
+        .build();
+  }
+
+  /**
+   * Writes schema response to a new byte array with data binding.
+   *
+   * @return JSON
+   * @throws JsonProcessingException
+   *     if serialization fails
+   */
+  @Benchmark
+  public byte[] writeSchema() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(schemaOnly);
+  }
+
+  /**
+   * Writes registration response to a new byte array with data binding.
+   *
+   * @return JSON
+   * @throws JsonProcessingException
+   *     if serialization fails
+   */
+  @Benchmark
+  public byte[] writeRegistration() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(registration);
+  }
+
+  /**
+   * Writes error response to a new byte array with data binding.
+   *
+   * @return JSON
+   * @throws JsonProcessingException
+   *     if serialization fails
+   */
+  @Benchmark
+  public byte[] writeError() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(error);
+  }
+}
@@ -0,0 +1,37 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Temporary directory containing synthetic subjects.
+ */
+final class SubjectsDirectory {
+
+  private SubjectsDirectory() {
+    throw new UnsupportedOperationException("Should not instantiate this class");
+  }
+
+  static Path create(int subjectCount, int versionCount) throws IOException {
+    Path subjectsDir = Files.createTempDirectory("benchmark-subjects-");
+    SyntheticSubjects.write(subjectsDir, subjectCount, versionCount);
+    return subjectsDir;
+  }
+
+  static void delete(Path subjectsDir) throws IOException {
+    try (Stream<Path> paths = Files.walk(subjectsDir)) {
+      paths.sorted(Comparator.reverseOrder())
+          .forEach(path -> {
+            try {
+              Files.delete(path);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,357 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.pukkaone.accession.schema.registry.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the schema registry server against a generated local Git repository, sends a mix of the
+ * requests Confluent clients send, and reports throughput and latency percentiles. Optionally
+ * pushes a commit to the repository periodically during the run, to measure latency while the
+ * server refreshes.
+ *
+ * <p>Requests are sent on a fixed schedule at the configured rate, whether or not earlier
+ * requests have been answered, and latency is measured from the time each request was scheduled
+ * to be sent. So when the server stalls, the requests that should have been sent meanwhile count
+ * the stall in their latency, instead of not being sent at all.
+ *
+ * <p>Options are given as {@code --name=value} arguments:
+ * <dl>
+ *   <dt>subjects</dt><dd>number of subjects, default 1000</dd>
+ *   <dt>versions</dt><dd>number of versions per subject, default 5</dd>
+ *   <dt>rate</dt><dd>requests per second, default 1000</dd>
+ *   <dt>concurrency</dt><dd>maximum number of outstanding requests, default 64</dd>
+ *   <dt>warmup</dt><dd>time before measuring, default PT10S</dd>
+ *   <dt>duration</dt><dd>time to measure, default PT60S</dd>
+ *   <dt>pushInterval</dt><dd>time between pushes, default PT0S which does not push</dd>
+ * </dl>
+ */
+public final class LoadTest {
+
+  private static final String LABEL = "main";
+  private static final String MEDIA_TYPE = "application/vnd.schemaregistry.v1+json";
+  private static final int INPUT_COUNT = 4096;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final int subjectCount;
+  private final int versionCount;
+  private final int rate;
+  private final int concurrency;
+  private final Duration warmup;
+  private final Duration duration;
+  private final Duration pushInterval;
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+  private final AtomicInteger errorCount = new AtomicInteger();
+  private final AtomicInteger pushCount = new AtomicInteger();
+  private final List<HttpRequest> requests = new ArrayList<>(INPUT_COUNT);
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  // Each client sends one request per interval, so together they send at the configured rate.
+  private final long clientIntervalNanos;
+  private long startNanos;
+  private long recordStartNanos;
+  private long endNanos;
+
+  private LoadTest(Map<String, String> options) {
+    subjectCount = Integer.parseInt(options.getOrDefault("subjects", "1000"));
+    versionCount = Integer.parseInt(options.getOrDefault("versions", "5"));
+    rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+    concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+    warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+    duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+    pushInterval = Duration.parse(options.getOrDefault("pushInterval", "PT0S"));
+    clientIntervalNanos = TimeUnit.SECONDS.toNanos(concurrency) / rate;
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+
+      int separatorIndex = arg.indexOf('=');
+      options.put(arg.substring(2, separatorIndex), arg.substring(separatorIndex + 1));
+    }
+
+    return options;
+  }
+
+  private Git createRepository(Path workTree) throws IOException, GitAPIException {
+    SyntheticSubjects.write(workTree, subjectCount, versionCount);
+    Git git = Git.init()
+        .setInitialBranch(LABEL)
+        .setDirectory(workTree.toFile())
+        .call();
+    git.add()
+        .addFilepattern(".")
+        .call();
+    git.commit()
+        .setMessage("Generate subjects")
+        .call();
+    return git;
+  }
+
+  private static String toJson(Object value) {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot write JSON", e);
+    }
+  }
+
+  private void prepareRequests(URI baseUri) {
+    // Confluent clients mostly look up schemas by ID when deserializing, and by schema when
+    // serializing, so those dominate the mix.
+    var random = new SplittableRandom(42);
+    for (int i = 0; i < INPUT_COUNT; ++i) {
+      int index = random.nextInt(subjectCount);
+      int version = 1 + random.nextInt(versionCount);
+      String subjectName = SyntheticSubjects.subjectName(index);
+      int kind = random.nextInt(10);
+      HttpRequest.Builder request;
+      if (kind < 5) {
+        request = HttpRequest.newBuilder(
+            baseUri.resolve("/schemas/ids/" + SyntheticSubjects.schemaId(index, version)));
+      } else if (kind < 7) {
+        String versionPath = (kind == 5) ? "latest" : String.valueOf(version);
+        request = HttpRequest.newBuilder(
+            baseUri.resolve("/subjects/" + subjectName + "/versions/" + versionPath));
+      } else {
+        String body = toJson(Map.of("schema", SyntheticSubjects.schema(index, version)));
+        String path = (kind < 9) ? "/subjects/" + subjectName + "/versions"
+            : "/subjects/" + subjectName;
+        request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Content-Type", MEDIA_TYPE)
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+      }
+
+      requests.add(request.header("Accept", MEDIA_TYPE).build());
+    }
+  }
+
+  private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+    long remainingNanos = deadlineNanos - System.nanoTime();
+    while (remainingNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(remainingNanos);
+      remainingNanos = deadlineNanos - System.nanoTime();
+    }
+  }
+
+  private long[] runClient(int clientIndex) {
+    long[] latencies = new long[1 << 16];
+    int latencyCount = 0;
+    int position = ThreadLocalRandom.current().nextInt(INPUT_COUNT);
+
+    // Offset the clients so the requests are spread evenly over each interval.
+    long intendedNanos = startNanos + clientIndex * clientIntervalNanos / concurrency;
+    while (intendedNanos < endNanos) {
+      boolean error;
+      try {
+        sleepUntil(intendedNanos);
+        position = (position + 1) % INPUT_COUNT;
+        HttpResponse<Void> response =
+            httpClient.send(requests.get(position), HttpResponse.BodyHandlers.discarding());
+        error = response.statusCode() >= 300;
+      } catch (IOException e) {
+        error = true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+
+      // Measure from when the request should have been sent, so a slow response also counts the
+      // delay it causes to the requests scheduled after it.
+      long latency = System.nanoTime() - intendedNanos;
+      if (intendedNanos >= recordStartNanos) {
+        if (latencyCount == latencies.length) {
+          latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+
+        latencies[latencyCount++] = latency;
+        if (error) {
+          errorCount.incrementAndGet();
+        }
+      }
+
+      intendedNanos += clientIntervalNanos;
+    }
+
+    return Arrays.copyOf(latencies, latencyCount);
+  }
+
+  private void push(Git git, Path workTree, URI baseUri)
+      throws GitAPIException, InterruptedException, IOException {
+
+    // Add a version to a random subject, and tell the server through the webhook.
+    int index = ThreadLocalRandom.current().nextInt(subjectCount);
+    int version = versionCount + pushCount.incrementAndGet();
+    Path subjectDir = workTree.resolve(
+        SyntheticSubjects.subjectId(index) + "_" + SyntheticSubjects.subjectName(index));
+    Files.writeString(
+        subjectDir.resolve(String.format("%03d.avsc", version)),
+        SyntheticSubjects.schema(index, version),
+        StandardCharsets.UTF_8);
+    git.add()
+        .addFilepattern(".")
+        .call();
+    git.commit()
+        .setMessage("Add version " + version)
+        .call();
+
+    HttpRequest webhook = HttpRequest.newBuilder(baseUri.resolve("/webhooks/push"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{\"ref\":\"refs/heads/" + LABEL + "\"}"))
+        .build();
+    HttpResponse<Void> response = httpClient.send(webhook, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() >= 300) {
+      throw new IllegalStateException("Webhook responded with status " + response.statusCode());
+    }
+  }
+
+  private Void runPusher(Git git, Path workTree, URI baseUri)
+      throws GitAPIException, InterruptedException, IOException {
+
+    sleepUntil(recordStartNanos);
+
+    // Versions must stay below 1000, because the version is part of the schema ID.
+    while (versionCount + pushCount.get() < 999
+        && !stopped.await(pushInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+      push(git, workTree, baseUri);
+    }
+
+    return null;
+  }
+
+  private static long[] collectLatencies(List<Future<long[]>> clients) throws Exception {
+    List<long[]> clientLatencies = new ArrayList<>();
+    int latencyCount = 0;
+    for (Future<long[]> client : clients) {
+      long[] latencies = client.get();
+      clientLatencies.add(latencies);
+      latencyCount += latencies.length;
+    }
+
+    long[] latencies = new long[latencyCount];
+    int offset = 0;
+    for (long[] clientLatency : clientLatencies) {
+      System.arraycopy(clientLatency, 0, latencies, offset, clientLatency.length);
+      offset += clientLatency.length;
+    }
+
+    return latencies;
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return 0;
+    }
+
+    int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)];
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format("%.3f ms", nanos / 1_000_000.0);
+  }
+
+  private void report(long[] latencies) {
+    Arrays.sort(latencies);
+    double seconds = duration.toMillis() / 1000.0;
+    System.out.printf("subjects=%d versions=%d rate=%d/s concurrency=%d duration=%s pushes=%d%n",
+        subjectCount, versionCount, rate, concurrency, duration, pushCount.get());
+    System.out.printf("requests=%d errors=%d throughput=%.1f/s%n",
+        latencies.length, errorCount.get(), latencies.length / seconds);
+    System.out.printf("p50=%s p99=%s p999=%s max=%s%n",
+        formatMillis(percentile(latencies, 50)),
+        formatMillis(percentile(latencies, 99)),
+        formatMillis(percentile(latencies, 99.9)),
+        formatMillis(percentile(latencies, 100)));
+  }
+
+  private void run() throws Exception {
+    Path workTree = Files.createTempDirectory("load-test-repository-");
+    try (Git git = createRepository(workTree);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+            ServerApplication.class)
+            .properties(
+                "logging.level.root=WARN",
+                "server.port=0",
+                "schema.registry.server.git.label=" + LABEL,
+                "schema.registry.server.git.uri=" + workTree.toUri())
+            .run()) {
+
+      int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+      URI baseUri = URI.create("http://localhost:" + port);
+      prepareRequests(baseUri);
+
+      ExecutorService executor = Executors.newFixedThreadPool(concurrency + 1);
+      try {
+        startNanos = System.nanoTime();
+        recordStartNanos = startNanos + warmup.toNanos();
+        endNanos = recordStartNanos + duration.toNanos();
+
+        List<Future<long[]>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; ++i) {
+          int clientIndex = i;
+          clients.add(executor.submit(() -> runClient(clientIndex)));
+        }
+
+        Future<Void> pusher = pushInterval.isZero()
+            ? null
+            : executor.submit(() -> runPusher(git, workTree, baseUri));
+        long[] latencies = collectLatencies(clients);
+        stopped.countDown();
+        if (pusher != null) {
+          // Throws if a push failed, because then the server did not refresh as intended.
+          pusher.get();
+        }
+
+        report(latencies);
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  /**
+   * Runs load test.
+   *
+   * @param args
+   *     options as {@code --name=value}
+   * @throws Exception
+   *     if load test failed
+   */
+  public static void main(String[] args) throws Exception {
+    new LoadTest(parseOptions(args)).run();
+  }
+}
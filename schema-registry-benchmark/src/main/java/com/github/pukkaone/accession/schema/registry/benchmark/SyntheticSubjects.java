@@ -0,0 +1,113 @@
+package com.github.pukkaone.accession.schema.registry.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates a subjects directory having many subjects and versions, laid out the way the schema
+ * registry server reads it. Each version adds a field to the previous version, so every version
+ * has a distinct schema.
+ */
+public final class SyntheticSubjects {
+
+  // Schema ID is subject ID * 1000 + version, which must fit in an int.
+  private static final int FIRST_SUBJECT_ID = 1_000_000;
+
+  private SyntheticSubjects() {
+    throw new UnsupportedOperationException("Should not instantiate this class");
+  }
+
+  /**
+   * Gets subject ID.
+   *
+   * @param index
+   *     index of subject, starting from 0
+   * @return subject ID
+   */
+  public static int subjectId(int index) {
+    return FIRST_SUBJECT_ID + index;
+  }
+
+  /**
+   * Gets subject name.
+   *
+   * @param index
+   *     index of subject, starting from 0
+   * @return subject name
+   */
+  public static String subjectName(int index) {
+    return "topic" + index + "-value";
+  }
+
+  /**
+   * Gets schema ID.
+   *
+   * @param index
+   *     index of subject, starting from 0
+   * @param version
+   *     version, starting from 1
+   * @return schema ID
+   */
+  public static int schemaId(int index, int version) {
+    return subjectId(index) * 1000 + version;
+  }
+
+  /**
+   * Generates schema.
+   *
+   * @param index
+   *     index of subject, starting from 0
+   * @param version
+   *     version, starting from 1
+   * @return schema
+   */
+  public static String schema(int index, int version) {
+    StringBuilder schema = new StringBuilder(256 + version * 96)
+        .append("{\n")
+        .append("  \"type\" : \"record\",\n")
+        .append("  \"name\" : \"Event").append(index).append("\",\n")
+        .append("  \"namespace\" : \"com.example.schema.registry\",\n")
+        .append("  \"fields\" : [ {\n")
+        .append("    \"name\" : \"id\",\n")
+        .append("    \"type\" : \"string\"\n")
+        .append("  }");
+    for (int field = 2; field <= version; ++field) {
+      schema.append(", {\n")
+          .append("    \"name\" : \"field").append(field).append("\",\n")
+          .append("    \"type\" : [ \"null\", \"string\" ],\n")
+          .append("    \"default\" : null\n")
+          .append("  }");
+    }
+
+    return schema.append(" ]\n}\n").toString();
+  }
+
+  /**
+   * Writes subject directories.
+   *
+   * @param subjectsDir
+   *     directory to write subject directories in
+   * @param subjectCount
+   *     number of subjects
+   * @param versionCount
+   *     number of versions per subject
+   * @throws IOException
+   *     if an I/O error occurs
+   */
+  public static void write(Path subjectsDir, int subjectCount, int versionCount)
+      throws IOException {
+
+    for (int index = 0; index < subjectCount; ++index) {
+      Path subjectDir = Files.createDirectories(
+          subjectsDir.resolve(subjectId(index) + "_" + subjectName(index)));
+      for (int version = 1; version <= versionCount; ++version) {
+        Files.writeString(
+            subjectDir.resolve(String.format("%03d.avsc", version)),
+            schema(index, version),
+            StandardCharsets.UTF_8);
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.github.pukkaone.accession.schema.registry.reactive;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.controller.CacheHeaders;
+import com.github.pukkaone.accession.schema.registry.controller.RegistryLookup;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import com.github.pukkaone.accession.schema.registry.function.FingerprintCache;
+import com.github.pukkaone.accession.schema.registry.repository.GitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Spring Boot application entry point for the server running on WebFlux and Netty. Shares the
+ * schema registry and Git repository components with the servlet server, but not its controllers.
+ */
+@EnableScheduling
+@Import({CacheHeaders.class, RegistryLookup.class})
+@SpringBootApplication(scanBasePackageClasses = {
+    FingerprintCache.class,
+    GitRepository.class,
+    ReactiveServerApplication.class,
+    SchemaRegistryProperties.class,
+    SchemaRegistrySupplier.class,
+})
+public class ReactiveServerApplication {
+
+  /**
+   * In on-demand refresh mode, answers requests from the current schema registry while the pull
+   * they start runs in the background, because requests run on event loop threads, which must not
+   * block.
+   *
+   * @param schemaRegistrySupplier
+   *     schema registry supplier
+   */
+  @Autowired
+  public void doNotWaitForRefresh(SchemaRegistrySupplier schemaRegistrySupplier) {
+    schemaRegistrySupplier.setWaitForRefresh(false);
+  }
+
+  /**
+   * Spring Boot application entry point.
+   *
+   * @param args
+   *     command line arguments
+   */
+  public static void main(String[] args) {
+    new SpringApplicationBuilder(ReactiveServerApplication.class)
+        .web(WebApplicationType.REACTIVE)
+        .run(args);
+  }
+}
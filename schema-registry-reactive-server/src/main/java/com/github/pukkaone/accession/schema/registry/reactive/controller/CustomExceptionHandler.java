@@ -0,0 +1,76 @@
+package com.github.pukkaone.accession.schema.registry.reactive.controller;
+
+import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.domain.NotFoundException;
+import com.github.pukkaone.accession.schema.registry.domain.NotReadyException;
+import com.github.pukkaone.accession.schema.registry.domain.NotRegisteredException;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Customizes response body on exception, with the same error codes as the servlet server.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
+
+  private final MeterRegistry meterRegistry;
+
+  private void countNotFound(int errorCode) {
+    meterRegistry.counter("schema.registry.not.found", "error_code", String.valueOf(errorCode))
+        .increment();
+  }
+
+  /**
+   * Customizes response body on {@link NotFoundException}.
+   *
+   * @param exception
+   *     exception
+   * @return response
+   */
+  @ExceptionHandler(NotFoundException.class)
+  protected ResponseEntity<byte[]> handleNotFound(NotFoundException exception) {
+    countNotFound(ErrorResponse.SCHEMA_NOT_FOUND_CODE);
+    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .body(exception.getBody());
+  }
+
+  /**
+   * Customizes response body on {@link NotRegisteredException}.
+   *
+   * @param exception
+   *     exception
+   * @return response
+   */
+  @ExceptionHandler(NotRegisteredException.class)
+  protected ResponseEntity<byte[]> handleNotRegistered(NotRegisteredException exception) {
+    countNotFound(ErrorResponse.NOT_REGISTERED_CODE);
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .body(exception.getBody());
+  }
+
+  /**
+   * Customizes response body on {@link NotReadyException}.
+   *
+   * @param exception
+   *     exception
+   * @return response
+   */
+  @ExceptionHandler(NotReadyException.class)
+  protected ResponseEntity<Object> handleNotReady(NotReadyException exception) {
+    return new ResponseEntity<>(
+        ErrorResponse.builder()
+            .errorCode(ErrorResponse.NOT_READY_CODE)
+            .message(exception.getMessage())
+            .build(),
+        HttpStatus.SERVICE_UNAVAILABLE);
+  }
+}
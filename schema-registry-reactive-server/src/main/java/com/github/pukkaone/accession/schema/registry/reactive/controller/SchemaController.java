@@ -0,0 +1,71 @@
+package com.github.pukkaone.accession.schema.registry.reactive.controller;
+
+import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.controller.RegistryLookup;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Schema endpoint. Lookups read only the in-memory schema registry, so handlers run on the event
+ * loop without blocking.
+ */
+@RequestMapping(
+    value = SchemaController.BASE_PATH,
+    produces = MediaTypes.APPLICATION_SCHEMA_REGISTRY)
+@RequiredArgsConstructor
+@RestController
+public class SchemaController {
+
+  public static final String BASE_PATH = "/schemas";
+  public static final String GET_SCHEMA_BY_SCHEMA_ID_PATH = "/ids/{schemaId}";
+  public static final String GET_SCHEMAS_BY_SCHEMA_IDS_PATH = "/ids";
+  public static final String GET_REGISTRATIONS_BY_FINGERPRINT_PATH = "/fingerprints/{fingerprint}";
+
+  private final RegistryLookup registryLookup;
+
+  /**
+   * Gets schema by schema ID.
+   *
+   * @param schemaId
+   *     schema ID to get
+   * @return schema
+   */
+  @GetMapping(GET_SCHEMA_BY_SCHEMA_ID_PATH)
+  public ResponseEntity<byte[]> getSchemaBySchemaId(@PathVariable int schemaId) {
+    return registryLookup.getSchemaBySchemaId(schemaId);
+  }
+
+  /**
+   * Gets schemas by schema IDs in one request. Schema IDs not found are reported individually in
+   * the response errors.
+   *
+   * @param schemaIds
+   *     schema IDs to get
+   * @return schemas and errors
+   */
+  @PostMapping(GET_SCHEMAS_BY_SCHEMA_IDS_PATH)
+  public SchemasResponse getSchemasBySchemaIds(@RequestBody List<Integer> schemaIds) {
+    return registryLookup.getSchemasBySchemaIds(schemaIds);
+  }
+
+  /**
+   * Gets registrations of a schema in all subjects by schema fingerprint, so clients holding the
+   * fingerprint do not have to send the whole schema.
+   *
+   * @param fingerprint
+   *     parsing fingerprint of schema, as a signed decimal 64-bit integer
+   * @return registrations in schema ID order
+   */
+  @GetMapping(GET_REGISTRATIONS_BY_FINGERPRINT_PATH)
+  public ResponseEntity<byte[]> getRegistrationsByFingerprint(@PathVariable long fingerprint) {
+    return registryLookup.getRegistrationsByFingerprint(fingerprint);
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.pukkaone.accession.schema.registry.reactive.controller;
+
+import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.controller.RegistryLookup;
+import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Subject endpoint. Lookups read only the in-memory schema registry, so handlers run on the event
+ * loop without blocking.
+ */
+@RequestMapping(
+    value = SubjectController.BASE_PATH,
+    produces = MediaTypes.APPLICATION_SCHEMA_REGISTRY)
+@RequiredArgsConstructor
+@RestController
+public class SubjectController {
+
+  public static final String BASE_PATH = "/subjects";
+  public static final String GET_REGISTRATION_BY_SUBJECT_AND_SCHEMA_PATH = "/{subject}";
+  public static final String GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH = "/{subject}/versions";
+  public static final String GET_REGISTRATION_BY_SUBJECT_AND_VERSION_PATH =
+      "/{subject}/versions/{version}";
+  public static final String GET_SCHEMA_BY_SUBJECT_AND_VERSION_PATH =
+      "/{subject}/versions/{version}/schema";
+
+  private final RegistryLookup registryLookup;
+
+  /**
+   * Gets all subjects.
+   *
+   * @return subjects
+   */
+  @GetMapping
+  public Set<String> getSubjects() {
+    return registryLookup.getSubjects();
+  }
+
+  /**
+   * Checks a schema is registered under a subject.
+   *
+   * @param subject
+   *     subject to search by
+   * @param schemaRequest
+   *     schema to search by
+   * @return registration
+   */
+  @PostMapping(GET_REGISTRATION_BY_SUBJECT_AND_SCHEMA_PATH)
+  public Mono<ResponseEntity<byte[]>> getRegistrationBySubjectAndSchema(
+      @PathVariable String subject,
+      @RequestBody Mono<SchemaRequest> schemaRequest) {
+
+    return schemaRequest.map(
+        request -> registryLookup.getRegistrationBySubjectAndSchema(subject, request));
+  }
+
+  /**
+   * Gets versions by subject.
+   *
+   * @param subject
+   *     subject to search by
+   * @return versions
+   */
+  @GetMapping(GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH)
+  public List<Integer> getVersionsBySubject(@PathVariable String subject) {
+    return registryLookup.getVersionsBySubject(subject);
+  }
+
+  /**
+   * Gets schema ID by subject and schema.
+   *
+   * @param subject
+   *     subject to search by
+   * @param schemaRequest
+   *     schema to search by
+   * @return schema ID
+   */
+  @PostMapping(GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH)
+  public Mono<ResponseEntity<byte[]>> getSchemaIdBySubjectAndSchema(
+      @PathVariable String subject,
+      @RequestBody Mono<SchemaRequest> schemaRequest) {
+
+    return schemaRequest.map(
+        request -> registryLookup.getSchemaIdBySubjectAndSchema(subject, request));
+  }
+
+  /**
+   * Gets registration by subject and version.
+   *
+   * @param subject
+   *     subject to search by
+   * @param version
+   *     version to search by
+   * @return registration
+   */
+  @GetMapping(GET_REGISTRATION_BY_SUBJECT_AND_VERSION_PATH)
+  public ResponseEntity<byte[]> getRegistrationBySubjectAndVersion(
+      @PathVariable String subject,
+      @PathVariable String version) {
+
+    return registryLookup.getRegistrationBySubjectAndVersion(subject, version);
+  }
+
+  /**
+   * Gets schema by subject and version.
+   *
+   * @param subject
+   *     subject to search by
+   * @param version
+   *     version to search by
+   * @return schema
+   */
+  @GetMapping(GET_SCHEMA_BY_SUBJECT_AND_VERSION_PATH)
+  public ResponseEntity<String> getSchemaBySubjectAndVersion(
+      @PathVariable String subject,
+      @PathVariable String version) {
+
+    return registryLookup.getSchemaBySubjectAndVersion(subject, version);
+  }
+}
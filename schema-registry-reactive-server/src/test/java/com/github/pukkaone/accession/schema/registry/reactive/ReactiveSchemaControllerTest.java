@@ -0,0 +1,145 @@
+package com.github.pukkaone.accession.schema.registry.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.pukkaone.accession.schema.registry.GitTestConfiguration;
+import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
+import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import com.github.pukkaone.accession.schema.registry.reactive.controller.SchemaController;
+import com.github.pukkaone.accession.schema.registry.reactive.controller.SubjectController;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Tests API endpoints on WebFlux.
+ */
+@AutoConfigureWebTestClient
+@Import(GitTestConfiguration.class)
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+class ReactiveSchemaControllerTest {
+
+  private static final String SUBJECT1 = "topic1-value";
+
+  @Value("classpath:001.avsc")
+  private Resource schemaFile1;
+
+  @Value("classpath:unregistered.avsc")
+  private Resource unregisteredSchemaFile;
+
+  @Autowired
+  private SchemaRegistrySupplier schemaRegistrySupplier;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  private static String copyToString(Resource resource) throws IOException {
+    return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void when_start_then_do_not_wait_for_refresh_on_event_loop() {
+    assertThat(schemaRegistrySupplier.isWaitForRefresh()).isFalse();
+  }
+
+  @Test
+  void when_get_schema_by_schema_id() throws Exception {
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    var registration = webTestClient.get()
+        .uri(uri, 1234567001)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .expectBody(SchemaResponse.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(registration.getSchema()).isEqualTo(copyToString(schemaFile1));
+  }
+
+  @Test
+  void given_matching_etag_when_get_schema_by_schema_id_then_not_modified() {
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    String etag = webTestClient.get()
+        .uri(uri, 1234567001)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(byte[].class)
+        .getResponseHeaders()
+        .getETag();
+    assertThat(etag).isNotBlank();
+
+    webTestClient.get()
+        .uri(uri, 1234567001)
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus().isNotModified();
+  }
+
+  @Test
+  void when_get_registration_by_schema() throws Exception {
+    String uri = SubjectController.BASE_PATH +
+        SubjectController.GET_REGISTRATION_BY_SUBJECT_AND_SCHEMA_PATH;
+    var requestBody = SchemaRequest.builder()
+        .schema(copyToString(schemaFile1))
+        .build();
+    var registration = webTestClient.post()
+        .uri(uri, SUBJECT1)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .bodyValue(requestBody)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(SchemaResponse.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(registration.getId()).isEqualTo(1234567001);
+    assertThat(registration.getVersion()).isEqualTo(1);
+  }
+
+  @Test
+  void given_unregistered_schema_when_get_schema_id_by_schema_then_error() throws Exception {
+    String uri = SubjectController.BASE_PATH +
+        SubjectController.GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH;
+    var requestBody = SchemaRequest.builder()
+        .schema(copyToString(unregisteredSchemaFile))
+        .build();
+    var errorResponse = webTestClient.post()
+        .uri(uri, SUBJECT1)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .bodyValue(requestBody)
+        .exchange()
+        .expectStatus().isEqualTo(422)
+        .expectBody(ErrorResponse.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(errorResponse.getErrorCode()).isEqualTo(ErrorResponse.NOT_REGISTERED_CODE);
+  }
+
+  @Test
+  void given_unknown_schema_id_when_get_schema_by_schema_id_then_not_found() {
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    var errorResponse = webTestClient.get()
+        .uri(uri, 1234567999)
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody(ErrorResponse.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertThat(errorResponse.getErrorCode()).isEqualTo(ErrorResponse.SCHEMA_NOT_FOUND_CODE);
+  }
+}
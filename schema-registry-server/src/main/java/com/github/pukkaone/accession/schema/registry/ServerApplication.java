@@ -1,11 +1,30 @@
 package com.github.pukkaone.accession.schema.registry;
 
+import com.github.pukkaone.accession.schema.registry.config.NativeRuntimeHints;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaIdErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
+import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot application entry point.
  */
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
+// Response bodies are serialized ahead of time, so controller signatures do not reveal them.
+@RegisterReflectionForBinding({
+    ErrorResponse.class,
+    SchemaIdErrorResponse.class,
+    SchemaRequest.class,
+    SchemaResponse.class,
+    SchemasResponse.class,
+})
 @SpringBootApplication
 public class ServerApplication {
 
@@ -0,0 +1,32 @@
+package com.github.pukkaone.accession.schema.registry.config;
+
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistryRefresher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/**
+ * When lazy initialization is enabled, still creates the beans which serve reads at startup, so the
+ * first request does not wait for them. The rest, such as the config server and actuator beans,
+ * are created when first used.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfiguration {
+
+  /**
+   * Excludes controllers, and the beans they depend on, from lazy initialization. The refresher
+   * is not referenced by any bean, so it must also be excluded to start pulling at all.
+   *
+   * @return filter
+   */
+  @Bean
+  static LazyInitializationExcludeFilter readPathExcludeFilter() {
+    return (beanName, beanDefinition, beanType) ->
+        AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+            || AnnotatedElementUtils.hasAnnotation(beanType, ControllerAdvice.class)
+            || SchemaRegistryRefresher.class.isAssignableFrom(beanType);
+  }
+}
@@ -0,0 +1,48 @@
+package com.github.pukkaone.accession.schema.registry.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Registers reflection and resource metadata that Spring AOT cannot infer, for libraries which
+ * load classes and resources by name. Needed only when building a native image.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+  // JGit assigns translated messages to the public fields of these bundles by reflection.
+  private static final String[] JGIT_TRANSLATION_BUNDLES = {
+      "org.eclipse.jgit.internal.JGitText",
+      "org.eclipse.jgit.internal.transport.sshd.SshdText",
+  };
+
+  // Apache SSHD instantiates security provider registrars by class name.
+  private static final String[] SSHD_SECURITY_PROVIDER_REGISTRARS = {
+      "org.apache.sshd.common.util.security.SunJCESecurityProviderRegistrar",
+      "org.apache.sshd.common.util.security.bouncycastle.BouncyCastleSecurityProviderRegistrar",
+      "org.apache.sshd.common.util.security.eddsa.EdDSASecurityProviderRegistrar",
+  };
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    for (String bundle : JGIT_TRANSLATION_BUNDLES) {
+      hints.resources().registerResourceBundle(bundle);
+      hints.reflection().registerType(
+          TypeReference.of(bundle),
+          MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+          MemberCategory.PUBLIC_FIELDS);
+    }
+
+    for (String registrar : SSHD_SECURITY_PROVIDER_REGISTRARS) {
+      hints.reflection().registerType(
+          TypeReference.of(registrar), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+
+    // JGit, Apache SSHD and Avro discover implementations through the service loader.
+    hints.resources()
+        .registerPattern("META-INF/services/org.eclipse.jgit.*")
+        .registerPattern("META-INF/services/org.apache.sshd.*")
+        .registerPattern("META-INF/services/org.apache.avro.*");
+  }
+}
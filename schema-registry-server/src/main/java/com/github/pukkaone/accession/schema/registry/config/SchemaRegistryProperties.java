@@ -1,6 +1,9 @@
 package com.github.pukkaone.accession.schema.registry.config;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -15,6 +18,34 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class SchemaRegistryProperties {
 
+  /**
+   * When to pull from the remote repository.
+   */
+  public enum RefreshMode {
+    /**
+     * Pull periodically in the background.
+     */
+    SCHEDULED,
+
+    /**
+     * Pull when a request arrives and the last pull is older than the refresh TTL.
+     */
+    ON_DEMAND
+  }
+
+  /**
+   * Whether to load the snapshot or clone the repository in the background while the web server
+   * starts, instead of before. Until the first schema registry is published, requests get
+   * {@code 503 Service Unavailable}.
+   */
+  private boolean asyncStartup;
+
+  /**
+   * Whether to clone a bare repository and read schemas directly from the Git object database
+   * instead of a working tree.
+   */
+  private boolean bare;
+
   private String hostKey;
 
   /**
@@ -23,13 +54,93 @@ public class SchemaRegistryProperties {
    */
   private String hostKeyAlgorithm;
 
+  /**
+   * {@code Cache-Control} response header value for responses which do not change while the
+   * schema version exists, for example {@code max-age=86400}. If empty, then the header is omitted.
+   */
+  private String cacheControl;
+
+  /**
+   * Number of commits to fetch from the tip of the branch. If 0, then fetch all history.
+   */
+  @PositiveOrZero
+  private int cloneDepth;
+
+  /**
+   * Partial clone filter, for example {@code blob:limit=1048576}. JGit cannot fetch omitted objects
+   * on demand, so the filter must not omit schema files.
+   */
+  private String cloneFilter;
+
+  /**
+   * Directory to clone the Git repository into. The clone is reused across restarts, so startup
+   * fetches only new commits. If empty, then clone into a new temporary directory.
+   */
+  private String directory;
+
+  /**
+   * Maximum number of request schemas to remember the fingerprint of.
+   */
+  @PositiveOrZero
+  private int fingerprintCacheSize = 1000;
+
   @NotBlank
   private String label;
 
   private String privateKey;
 
+  /**
+   * Delay before pulling after a refresh is requested. Requests within this delay cause only one
+   * pull.
+   */
+  @NotNull
+  private Duration refreshDebounce = Duration.ofSeconds(1);
+
+  /**
+   * Interval between pulls from the remote repository.
+   */
+  @NotNull
+  private Duration refreshInterval = Duration.ofSeconds(60);
+
+  /**
+   * Maximum random delay added to each refresh interval, so replicas do not pull in lockstep.
+   */
+  @NotNull
+  private Duration refreshJitter = Duration.ofSeconds(10);
+
+  @NotNull
+  private RefreshMode refreshMode = RefreshMode.SCHEDULED;
+
+  /**
+   * In on-demand refresh mode, maximum time a request waits for a pull before it is served from
+   * the current schema registry.
+   */
+  @NotNull
+  private Duration refreshTimeout = Duration.ofSeconds(1);
+
+  /**
+   * In on-demand refresh mode, minimum time between pulls. Requests within this time are served
+   * from the current schema registry without pulling.
+   */
+  @NotNull
+  private Duration refreshTtl = Duration.ofSeconds(5);
+
+  /**
+   * Directory to save a snapshot of the schema registry in after each refresh. On startup, the
+   * server serves from the saved snapshot while it pulls newer commits in the background. If empty,
+   * then snapshots are not saved.
+   */
+  private String snapshotDirectory;
+
   private String subjectsDirectory = ".";
 
   @NotBlank
   private String uri;
+
+  /**
+   * Shared secret the Git server sends with webhook requests, either as the GitHub
+   * {@code X-Hub-Signature-256} HMAC of the request body, or as the GitLab {@code X-Gitlab-Token}
+   * header. If empty, then webhook requests are not authenticated.
+   */
+  private String webhookSecret;
 }
@@ -0,0 +1,63 @@
+package com.github.pukkaone.accession.schema.registry.controller;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.domain.Registration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Adds validator and caching headers to responses about a registration. Spring MVC answers a
+ * conditional GET with 304 Not Modified when the request {@code If-None-Match} header matches the
+ * entity tag.
+ */
+@Component
+public class CacheHeaders {
+
+  private final String cacheControl;
+
+  /**
+   * Constructor.
+   *
+   * @param properties
+   *     configuration properties
+   */
+  public CacheHeaders(SchemaRegistryProperties properties) {
+    this.cacheControl = properties.getCacheControl();
+  }
+
+  /**
+   * Starts building a response whose content does not change while the schema version exists.
+   *
+   * @param registration
+   *     registration the response is about
+   * @return response builder
+   */
+  public ResponseEntity.BodyBuilder ok(Registration registration) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .eTag(registration.getEtag());
+    if (StringUtils.hasText(cacheControl)) {
+      builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    return builder;
+  }
+
+  /**
+   * Starts building a response whose content changes when a new schema version is registered.
+   * Caches must revalidate the response before using it.
+   *
+   * @param registration
+   *     registration the response is about
+   * @return response builder
+   */
+  public ResponseEntity.BodyBuilder okRevalidate(Registration registration) {
+    return ResponseEntity.ok()
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .eTag(registration.getEtag())
+        .cacheControl(CacheControl.noCache());
+  }
+}
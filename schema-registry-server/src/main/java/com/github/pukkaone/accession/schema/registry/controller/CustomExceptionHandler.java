@@ -1,8 +1,11 @@
 package com.github.pukkaone.accession.schema.registry.controller;
 
 import com.github.pukkaone.accession.schema.registry.domain.NotFoundException;
+import com.github.pukkaone.accession.schema.registry.domain.NotReadyException;
 import com.github.pukkaone.accession.schema.registry.domain.NotRegisteredException;
 import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,11 +17,20 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
  * Customizes response body on exception.
  */
 @ControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
-  public static final int SCHEMA_NOT_FOUND_CODE = 40403;
-  public static final int NOT_REGISTERED_CODE = 42201;
+  public static final int SCHEMA_NOT_FOUND_CODE = ErrorResponse.SCHEMA_NOT_FOUND_CODE;
+  public static final int NOT_REGISTERED_CODE = ErrorResponse.NOT_REGISTERED_CODE;
+  public static final int NOT_READY_CODE = ErrorResponse.NOT_READY_CODE;
+
+  private final MeterRegistry meterRegistry;
+
+  private void countNotFound(int errorCode) {
+    meterRegistry.counter("schema.registry.not.found", "error_code", String.valueOf(errorCode))
+        .increment();
+  }
 
   /**
    * Customizes response body on {@link NotFoundException}.
@@ -28,13 +40,11 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
    * @return response
    */
   @ExceptionHandler(NotFoundException.class)
-  protected ResponseEntity<Object> handleNotFound(NotFoundException exception) {
-    return new ResponseEntity<>(
-        ErrorResponse.builder()
-            .errorCode(SCHEMA_NOT_FOUND_CODE)
-            .message(exception.getMessage())
-            .build(),
-        HttpStatus.NOT_FOUND);
+  protected ResponseEntity<byte[]> handleNotFound(NotFoundException exception) {
+    countNotFound(SCHEMA_NOT_FOUND_CODE);
+    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .body(exception.getBody());
   }
 
   /**
@@ -45,12 +55,27 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
    * @return response
    */
   @ExceptionHandler(NotRegisteredException.class)
-  protected ResponseEntity<Object> handleNotRegistered(NotRegisteredException exception) {
+  protected ResponseEntity<byte[]> handleNotRegistered(NotRegisteredException exception) {
+    countNotFound(NOT_REGISTERED_CODE);
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .body(exception.getBody());
+  }
+
+  /**
+   * Customizes response body on {@link NotReadyException}.
+   *
+   * @param exception
+   *     exception
+   * @return response
+   */
+  @ExceptionHandler(NotReadyException.class)
+  protected ResponseEntity<Object> handleNotReady(NotReadyException exception) {
     return new ResponseEntity<>(
         ErrorResponse.builder()
-            .errorCode(NOT_REGISTERED_CODE)
+            .errorCode(NOT_READY_CODE)
             .message(exception.getMessage())
             .build(),
-        HttpStatus.UNPROCESSABLE_ENTITY);
+        HttpStatus.SERVICE_UNAVAILABLE);
   }
 }
@@ -0,0 +1,85 @@
+package com.github.pukkaone.accession.schema.registry.controller;
+
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import com.github.pukkaone.accession.schema.registry.domain.Registration;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import com.github.pukkaone.accession.schema.registry.domain.Subject;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Endpoint that exports the whole schema registry in one response, so clients can load it at
+ * startup instead of requesting each subject.
+ */
+@RequestMapping(ExportController.BASE_PATH)
+@RequiredArgsConstructor
+@RestController
+public class ExportController {
+
+  public static final String BASE_PATH = "/export";
+  public static final String COMMIT_ID_HEADER = "X-Schema-Registry-Commit-Id";
+
+  private static final int NEWLINE = '\n';
+
+  private final SchemaRegistrySupplier schemaRegistryRepository;
+
+  private static void write(ReadOnlySchemaRegistry schemaRegistry, OutputStream output)
+      throws IOException {
+
+    List<Subject> subjects = new ArrayList<>(schemaRegistry.getSubjectIdToSubjectMap().values());
+    subjects.sort(Comparator.comparingInt(Subject::getSubjectId));
+
+    // Each line is already serialized, so memory does not grow with the registry size.
+    var bufferedOutput = new BufferedOutputStream(output);
+    for (Subject subject : subjects) {
+      for (Registration registration : subject.getRegistrations()) {
+        bufferedOutput.write(registration.getBodies().getRegistrationBySchema());
+        bufferedOutput.write(NEWLINE);
+      }
+    }
+
+    bufferedOutput.flush();
+  }
+
+  /**
+   * Gets every registration as newline-delimited JSON, in schema ID order. Each line has the
+   * schema ID, subject, version and schema. The entity tag and a response header identify the
+   * commit the registrations were read from.
+   *
+   * @param webRequest
+   *     request, to check the {@code If-None-Match} header
+   * @return registrations, or null if not modified
+   */
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> export(WebRequest webRequest) {
+    // Write from one snapshot, even if a refresh publishes a new one during the response.
+    ReadOnlySchemaRegistry schemaRegistry = schemaRegistryRepository.getSchemaRegistry();
+    String commitId = schemaRegistry.getCommitId();
+    if (commitId != null && webRequest.checkNotModified('"' + commitId + '"')) {
+      return null;
+    }
+
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .cacheControl(CacheControl.noCache());
+    if (commitId != null) {
+      builder.eTag(commitId)
+          .header(COMMIT_ID_HEADER, commitId);
+    }
+
+    return builder.body(output -> write(schemaRegistry, output));
+  }
+}
@@ -1,5 +1,7 @@
 package com.github.pukkaone.accession.schema.registry.controller;
 
+import org.springframework.http.MediaType;
+
 /**
  * Producible media types.
  */
@@ -7,6 +9,8 @@ public final class MediaTypes {
 
   public static final String APPLICATION_SCHEMA_REGISTRY =
       "application/vnd.schemaregistry.v1+json";
+  public static final MediaType APPLICATION_SCHEMA_REGISTRY_TYPE =
+      MediaType.valueOf(APPLICATION_SCHEMA_REGISTRY);
 
   private MediaTypes() {
     throw new UnsupportedOperationException("Should not instantiate this class");
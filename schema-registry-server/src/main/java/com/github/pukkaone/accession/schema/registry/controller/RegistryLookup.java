@@ -0,0 +1,214 @@
+package com.github.pukkaone.accession.schema.registry.controller;
+
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import com.github.pukkaone.accession.schema.registry.domain.Registration;
+import com.github.pukkaone.accession.schema.registry.domain.ResponseBodies;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import com.github.pukkaone.accession.schema.registry.function.FingerprintCache;
+import com.github.pukkaone.accession.schema.registry.function.LookupTimer;
+import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Looks up the schema registry and builds responses, independent of the web stack, so the servlet
+ * and reactive controllers answer the same way.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistryLookup {
+
+  /**
+   * Maximum number of schema IDs in one request, to bound the work and response size of a request.
+   */
+  public static final int MAX_SCHEMA_IDS = 1000;
+
+  private final SchemaRegistrySupplier schemaRegistryRepository;
+  private final FingerprintCache fingerprintCache;
+  private final CacheHeaders cacheHeaders;
+  private final LookupTimer lookupTimer;
+
+  private ReadOnlySchemaRegistry getSchemaRegistry() {
+    return schemaRegistryRepository.getSchemaRegistry();
+  }
+
+  private static ResponseEntity<byte[]> toResponse(byte[] body) {
+    return ResponseEntity.ok()
+        .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE)
+        .body(body);
+  }
+
+  private Registration findRegistrationBySchema(String subject, SchemaRequest schemaRequest) {
+    // Parse the schema only after finding the subject, so an unknown subject is answered cheaply.
+    return lookupTimer.record(
+        "findRegistrationBySubjectNameAndFingerprint",
+        () -> getSchemaRegistry().findRegistrationBySubjectNameAndFingerprint(
+            subject, () -> fingerprintCache.fingerprint(schemaRequest.getSchema())));
+  }
+
+  private static boolean isLatest(String version) {
+    return "latest".equals(version);
+  }
+
+  private Registration findRegistrationByVersion(String subject, String version) {
+    if (isLatest(version)) {
+      return lookupTimer.record(
+          "findLatestRegistrationBySubjectName",
+          () -> getSchemaRegistry().findLatestRegistrationBySubjectName(subject));
+    }
+
+    int versionNumber = Integer.parseInt(version);
+    return lookupTimer.record(
+        "findRegistrationBySubjectNameAndVersion",
+        () -> getSchemaRegistry().findRegistrationBySubjectNameAndVersion(
+            subject, versionNumber));
+  }
+
+  private ResponseEntity.BodyBuilder ok(Registration registration, String version) {
+    return isLatest(version)
+        ? cacheHeaders.okRevalidate(registration)
+        : cacheHeaders.ok(registration);
+  }
+
+  /**
+   * Gets all subjects.
+   *
+   * @return subjects
+   */
+  public Set<String> getSubjects() {
+    return lookupTimer.record("findSubjectNames", () -> getSchemaRegistry().findSubjectNames());
+  }
+
+  /**
+   * Checks a schema is registered under a subject.
+   *
+   * @param subject
+   *     subject to search by
+   * @param schemaRequest
+   *     schema to search by
+   * @return registration
+   */
+  public ResponseEntity<byte[]> getRegistrationBySubjectAndSchema(
+      String subject, SchemaRequest schemaRequest) {
+
+    Registration registration = findRegistrationBySchema(subject, schemaRequest);
+    return toResponse(registration.getBodies().getRegistrationBySchema());
+  }
+
+  /**
+   * Gets versions by subject.
+   *
+   * @param subject
+   *     subject to search by
+   * @return versions
+   */
+  public List<Integer> getVersionsBySubject(String subject) {
+    return lookupTimer.record(
+        "findVersionsBySubjectName",
+        () -> getSchemaRegistry().findVersionsBySubjectName(subject));
+  }
+
+  /**
+   * Gets schema ID by subject and schema.
+   *
+   * @param subject
+   *     subject to search by
+   * @param schemaRequest
+   *     schema to search by
+   * @return schema ID
+   */
+  public ResponseEntity<byte[]> getSchemaIdBySubjectAndSchema(
+      String subject, SchemaRequest schemaRequest) {
+
+    Registration registration = findRegistrationBySchema(subject, schemaRequest);
+    return toResponse(registration.getBodies().getSchemaIdBySchema());
+  }
+
+  /**
+   * Gets registration by subject and version.
+   *
+   * @param subject
+   *     subject to search by
+   * @param version
+   *     version number, or {@code latest}
+   * @return registration
+   */
+  public ResponseEntity<byte[]> getRegistrationBySubjectAndVersion(
+      String subject, String version) {
+
+    Registration registration = findRegistrationByVersion(subject, version);
+    return ok(registration, version)
+        .body(registration.getBodies().getRegistrationByVersion());
+  }
+
+  /**
+   * Gets schema by subject and version.
+   *
+   * @param subject
+   *     subject to search by
+   * @param version
+   *     version number, or {@code latest}
+   * @return schema
+   */
+  public ResponseEntity<String> getSchemaBySubjectAndVersion(String subject, String version) {
+    Registration registration = findRegistrationByVersion(subject, version);
+    return ok(registration, version)
+        .body(registration.getSchema());
+  }
+
+  /**
+   * Gets schema by schema ID.
+   *
+   * @param schemaId
+   *     schema ID to get
+   * @return schema
+   */
+  public ResponseEntity<byte[]> getSchemaBySchemaId(int schemaId) {
+    Registration registration = lookupTimer.record(
+        "findRegistrationBySchemaId",
+        () -> getSchemaRegistry().findRegistrationBySchemaId(schemaId));
+    return cacheHeaders.ok(registration)
+        .body(registration.getBodies().getSchemaById());
+  }
+
+  /**
+   * Gets schemas by schema IDs. Schema IDs not found are reported individually in the response
+   * errors.
+   *
+   * @param schemaIds
+   *     schema IDs to get
+   * @return schemas and errors
+   * @throws ResponseStatusException
+   *     if there are more than {@link #MAX_SCHEMA_IDS} schema IDs
+   */
+  public SchemasResponse getSchemasBySchemaIds(List<Integer> schemaIds) {
+    if (schemaIds.size() > MAX_SCHEMA_IDS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Request has more than " + MAX_SCHEMA_IDS + " schema IDs");
+    }
+
+    return lookupTimer.record(
+        "findSchemasBySchemaIds",
+        () -> getSchemaRegistry().findSchemasBySchemaIds(schemaIds));
+  }
+
+  /**
+   * Gets registrations of a schema in all subjects by schema fingerprint.
+   *
+   * @param fingerprint
+   *     parsing fingerprint of schema
+   * @return registrations in schema ID order
+   */
+  public ResponseEntity<byte[]> getRegistrationsByFingerprint(long fingerprint) {
+    List<Registration> registrations = lookupTimer.record(
+        "findRegistrationsByFingerprint",
+        () -> getSchemaRegistry().findRegistrationsByFingerprint(fingerprint));
+    return toResponse(ResponseBodies.toRegistrationBySchemaArray(registrations));
+  }
+}
@@ -1,10 +1,13 @@
 package com.github.pukkaone.accession.schema.registry.controller;
 
-import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
-import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,8 +23,10 @@ public class SchemaController {
 
   public static final String BASE_PATH = "/schemas";
   public static final String GET_SCHEMA_BY_SCHEMA_ID_PATH = "/ids/{schemaId}";
+  public static final String GET_SCHEMAS_BY_SCHEMA_IDS_PATH = "/ids";
+  public static final String GET_REGISTRATIONS_BY_FINGERPRINT_PATH = "/fingerprints/{fingerprint}";
 
-  private final SchemaRegistrySupplier schemaRegistryRepository;
+  private final RegistryLookup registryLookup;
 
   /**
    * Gets schema by schema ID.
@@ -31,8 +36,33 @@ public class SchemaController {
    * @return schema
    */
   @GetMapping(GET_SCHEMA_BY_SCHEMA_ID_PATH)
-  public SchemaResponse getSchemaBySchemaId(@PathVariable int schemaId) {
-    return schemaRegistryRepository.getSchemaRegistry()
-        .findSchemaBySchemaId(schemaId);
+  public ResponseEntity<byte[]> getSchemaBySchemaId(@PathVariable int schemaId) {
+    return registryLookup.getSchemaBySchemaId(schemaId);
+  }
+
+  /**
+   * Gets schemas by schema IDs in one request. Schema IDs not found are reported individually in
+   * the response errors.
+   *
+   * @param schemaIds
+   *     schema IDs to get
+   * @return schemas and errors
+   */
+  @PostMapping(GET_SCHEMAS_BY_SCHEMA_IDS_PATH)
+  public SchemasResponse getSchemasBySchemaIds(@RequestBody List<Integer> schemaIds) {
+    return registryLookup.getSchemasBySchemaIds(schemaIds);
+  }
+
+  /**
+   * Gets registrations of a schema in all subjects by schema fingerprint, so clients holding the
+   * fingerprint do not have to send the whole schema.
+   *
+   * @param fingerprint
+   *     parsing fingerprint of schema, as a signed decimal 64-bit integer
+   * @return registrations in schema ID order
+   */
+  @GetMapping(GET_REGISTRATIONS_BY_FINGERPRINT_PATH)
+  public ResponseEntity<byte[]> getRegistrationsByFingerprint(@PathVariable long fingerprint) {
+    return registryLookup.getRegistrationsByFingerprint(fingerprint);
   }
 }
@@ -1,10 +1,6 @@
 package com.github.pukkaone.accession.schema.registry.controller;
 
-import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
-import com.github.pukkaone.accession.schema.registry.domain.Registration;
-import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
 import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
-import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
 import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -34,11 +30,7 @@ public class SubjectController {
   public static final String GET_SCHEMA_BY_SUBJECT_AND_VERSION_PATH =
       "/{subject}/versions/{version}/schema";
 
-  private final SchemaRegistrySupplier schemaRegistryRepository;
-
-  private ReadOnlySchemaRegistry getSchemaRegistry() {
-    return schemaRegistryRepository.getSchemaRegistry();
-  }
+  private final RegistryLookup registryLookup;
 
   /**
    * Gets all subjects.
@@ -47,7 +39,7 @@ public class SubjectController {
    */
   @GetMapping
   public Set<String> getSubjects() {
-    return getSchemaRegistry().findSubjectNames();
+    return registryLookup.getSubjects();
   }
 
   /**
@@ -60,18 +52,11 @@ public class SubjectController {
    * @return registration
    */
   @PostMapping(GET_REGISTRATION_BY_SUBJECT_AND_SCHEMA_PATH)
-  public SchemaResponse getRegistrationBySubjectAndSchema(
+  public ResponseEntity<byte[]> getRegistrationBySubjectAndSchema(
       @PathVariable String subject,
       @RequestBody SchemaRequest schemaRequest) {
 
-    Registration registration = getSchemaRegistry().findRegistrationBySubjectNameAndSchema(
-        subject, schemaRequest.getSchema());
-    return SchemaResponse.builder()
-        .id(registration.getSchemaId())
-        .subject(registration.getSubjectName())
-        .version(registration.getVersion())
-        .schema(registration.getSchema())
-        .build();
+    return registryLookup.getRegistrationBySubjectAndSchema(subject, schemaRequest);
   }
 
   /**
@@ -83,7 +68,7 @@ public class SubjectController {
    */
   @GetMapping(GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH)
   public List<Integer> getVersionsBySubject(@PathVariable String subject) {
-    return getSchemaRegistry().findVersionsBySubjectName(subject);
+    return registryLookup.getVersionsBySubject(subject);
   }
 
   /**
@@ -96,15 +81,11 @@ public class SubjectController {
    * @return schema ID
    */
   @PostMapping(GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH)
-  public SchemaResponse getSchemaIdBySubjectAndSchema(
+  public ResponseEntity<byte[]> getSchemaIdBySubjectAndSchema(
       @PathVariable String subject,
       @RequestBody SchemaRequest schemaRequest) {
 
-    Registration registration = getSchemaRegistry().findRegistrationBySubjectNameAndSchema(
-        subject, schemaRequest.getSchema());
-    return SchemaResponse.builder()
-        .id(registration.getSchemaId())
-        .build();
+    return registryLookup.getSchemaIdBySubjectAndSchema(subject, schemaRequest);
   }
 
   /**
@@ -117,13 +98,11 @@ public class SubjectController {
    * @return registration
    */
   @GetMapping(GET_REGISTRATION_BY_SUBJECT_AND_VERSION_PATH)
-  public SchemaResponse getRegistrationBySubjectAndVersion(
+  public ResponseEntity<byte[]> getRegistrationBySubjectAndVersion(
       @PathVariable String subject,
       @PathVariable String version) {
 
-    return ("latest".equals(version))
-        ? getSchemaRegistry().findLatestSchemaBySubjectName(subject)
-        : getSchemaRegistry().findSchemaBySubjectNameAndVersion(subject, Integer.parseInt(version));
+    return registryLookup.getRegistrationBySubjectAndVersion(subject, version);
   }
 
   /**
@@ -140,7 +119,6 @@ public class SubjectController {
       @PathVariable String subject,
       @PathVariable String version) {
 
-    SchemaResponse schemaResponse = getRegistrationBySubjectAndVersion(subject, version);
-    return ResponseEntity.ok(schemaResponse.getSchema());
+    return registryLookup.getSchemaBySubjectAndVersion(subject, version);
   }
 }
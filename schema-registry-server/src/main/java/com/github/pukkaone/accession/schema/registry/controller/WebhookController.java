@@ -0,0 +1,134 @@
+package com.github.pukkaone.accession.schema.registry.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistryRefresher;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoint the Git server calls after a push, to refresh the schema registry without waiting for
+ * the next scheduled refresh.
+ */
+@RequestMapping(WebhookController.BASE_PATH)
+@RequiredArgsConstructor
+@RestController
+@Slf4j
+public class WebhookController {
+
+  public static final String BASE_PATH = "/webhooks";
+  public static final String PUSH_PATH = "/push";
+  public static final String GITHUB_SIGNATURE_HEADER = "X-Hub-Signature-256";
+  public static final String GITLAB_TOKEN_HEADER = "X-Gitlab-Token";
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final String SIGNATURE_PREFIX = "sha256=";
+
+  private final ObjectMapper objectMapper;
+  private final SchemaRegistryProperties properties;
+  private final SchemaRegistryRefresher schemaRegistryRefresher;
+
+  /**
+   * Computes the GitHub webhook signature of a request body.
+   *
+   * @param secret
+   *     shared secret
+   * @param body
+   *     request body
+   * @return {@code X-Hub-Signature-256} header value
+   */
+  public static String sign(String secret, byte[] body) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+      return SIGNATURE_PREFIX + HexFormat.of().formatHex(mac.doFinal(body));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Cannot compute " + HMAC_ALGORITHM, e);
+    }
+  }
+
+  private static boolean constantTimeEquals(String expected, String actual) {
+    return MessageDigest.isEqual(
+        expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private boolean isAuthentic(String signature, String token, byte[] body) {
+    String secret = properties.getWebhookSecret();
+    if (!StringUtils.hasLength(secret)) {
+      return true;
+    }
+
+    if (signature != null) {
+      return constantTimeEquals(sign(secret, body), signature);
+    }
+
+    return token != null && constantTimeEquals(secret, token);
+  }
+
+  private String extractRef(byte[] body) throws IOException {
+    if (body.length == 0) {
+      return null;
+    }
+
+    JsonNode ref = objectMapper.readTree(body).get("ref");
+    return (ref == null) ? null : ref.asText();
+  }
+
+  /**
+   * Requests a refresh in the background. If the request body has a {@code ref} property, as sent
+   * by GitHub and GitLab, then only a push to the configured branch requests a refresh. If a
+   * webhook secret is configured, then requests without a matching signature or token are
+   * rejected.
+   *
+   * @param signature
+   *     GitHub HMAC signature of the request body
+   * @param token
+   *     GitLab secret token
+   * @param body
+   *     push event
+   * @return empty response
+   */
+  @PostMapping(PUSH_PATH)
+  public ResponseEntity<Void> push(
+      @RequestHeader(name = GITHUB_SIGNATURE_HEADER, required = false) String signature,
+      @RequestHeader(name = GITLAB_TOKEN_HEADER, required = false) String token,
+      @RequestBody(required = false) byte[] body) {
+
+    byte[] content = (body == null) ? new byte[0] : body;
+    if (!isAuthentic(signature, token, content)) {
+      log.warn("Rejected push with invalid webhook signature or token");
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    String ref;
+    try {
+      ref = extractRef(content);
+    } catch (IOException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    if (ref == null || (Constants.R_HEADS + properties.getLabel()).equals(ref)) {
+      log.info("Received push ref={}", ref);
+      schemaRegistryRefresher.requestRefresh();
+    }
+
+    return ResponseEntity.accepted().build();
+  }
+}
@@ -1,10 +1,16 @@
 package com.github.pukkaone.accession.schema.registry.domain;
 
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.ResponseBodyWriter;
+
 /**
  * Thrown when a resource is not found.
+ * Clients look up missing resources routinely, so the stack trace is not filled in.
  */
 public class NotFoundException extends RuntimeException {
 
+  private transient volatile byte[] body;
+
   /**
    * Constructor.
    *
@@ -12,7 +18,7 @@ public class NotFoundException extends RuntimeException {
    *     detail message. The detail message is saved for later retrieval by the getMessage() method.
    */
   public NotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 
   /**
@@ -25,6 +31,24 @@ public class NotFoundException extends RuntimeException {
    *     permitted, and indicates that the cause is nonexistent or unknown.
    */
   public NotFoundException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
+  }
+
+  /**
+   * Gets error response body. Serialized on first call, so a reused exception is serialized once.
+   *
+   * @return UTF-8 encoded JSON
+   */
+  public byte[] getBody() {
+    byte[] serialized = body;
+    if (serialized == null) {
+      serialized = ResponseBodyWriter.write(ErrorResponse.builder()
+          .errorCode(ErrorResponse.SCHEMA_NOT_FOUND_CODE)
+          .message(getMessage())
+          .build());
+      body = serialized;
+    }
+
+    return serialized;
   }
 }
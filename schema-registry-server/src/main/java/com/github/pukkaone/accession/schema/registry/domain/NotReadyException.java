@@ -0,0 +1,17 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+/**
+ * Thrown when a request arrives before the first schema registry is published.
+ */
+public class NotReadyException extends RuntimeException {
+
+  /**
+   * Constructor.
+   *
+   * @param message
+   *     detail message. The detail message is saved for later retrieval by the getMessage() method.
+   */
+  public NotReadyException(String message) {
+    super(message);
+  }
+}
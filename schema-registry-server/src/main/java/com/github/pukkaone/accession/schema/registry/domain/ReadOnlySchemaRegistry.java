@@ -1,22 +1,33 @@
 package com.github.pukkaone.accession.schema.registry.domain;
 
 import com.github.pukkaone.accession.schema.registry.function.SchemaUtils;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaIdErrorResponse;
 import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
+import com.github.pukkaone.accession.schema.registry.repository.SubjectSource;
+import com.github.pukkaone.accession.schema.registry.repository.WorkingTreeSubjectSource;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.SchemaParseException;
 
 /**
- * Reads subjects and versions in working tree.
+ * Immutable snapshot of subjects and versions read from working tree or Git commit. All schemas are
+ * read into memory when the snapshot is constructed, so lookups do not access the file system.
  */
 @Getter
 @Slf4j
@@ -26,8 +37,46 @@ public class ReadOnlySchemaRegistry {
   private static final char ID_SEPARATOR = '_';
   private static final int INVALID_ID = -1;
 
-  private Map<Integer, Path> subjectIdToDirectoryMap = new HashMap<>();
-  private Map<String, Path> subjectNameToDirectoryMap = new HashMap<>();
+  // Bounds memory used to remember misses, because clients can send any number of schemas.
+  private static final int MAX_MISS_CACHE_SIZE = 10_000;
+
+  private final String commitId;
+  private final Map<Integer, Subject> subjectIdToSubjectMap;
+  private final Map<String, Subject> subjectNameToSubjectMap;
+  private final Map<Integer, Registration> schemaIdToRegistrationMap;
+
+  /**
+   * Registrations by parsing fingerprint of schema, in schema ID order. The same schema may be
+   * registered under more than one subject.
+   */
+  private final Map<Long, List<Registration>> fingerprintToRegistrationsMap;
+
+  /**
+   * Exceptions thrown for schemas not registered under a subject, reused for repeated lookups
+   * of the same schema. Valid only for this snapshot, so a new snapshot starts empty.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<SubjectFingerprint, NotRegisteredException> notRegisteredCache =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Exceptions thrown for unknown subject names, reused for repeated lookups of the same name, so
+   * the error response body is serialized once.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<String, NotFoundException> subjectNotFoundCache = new ConcurrentHashMap<>();
+
+  /**
+   * Exceptions thrown for unknown schema IDs, reused for repeated lookups of the same ID.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<Integer, NotFoundException> schemaIdNotFoundCache = new ConcurrentHashMap<>();
+
+  @Value
+  private static class SubjectFingerprint {
+    private String subjectName;
+    private long fingerprint;
+  }
 
   /**
    * Constructor.
@@ -36,16 +85,168 @@ public class ReadOnlySchemaRegistry {
    *         directory containing subject subdirectories
    */
   public ReadOnlySchemaRegistry(Path subjectsDir) {
-    readSubjects(subjectsDir);
+    this(null, new WorkingTreeSubjectSource(subjectsDir));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param commitId
+   *     ID of commit the subjects were read from
+   * @param source
+   *     reads subject directories
+   */
+  public ReadOnlySchemaRegistry(String commitId, SubjectSource source) {
+    this(commitId, readSubjects(source));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param commitId
+   *     ID of commit the subjects were read from
+   * @param subjects
+   *     subjects
+   */
+  public ReadOnlySchemaRegistry(String commitId, Collection<Subject> subjects) {
+    Map<Integer, Subject> subjectIdMap = new HashMap<>();
+    Map<String, Subject> subjectNameMap = new HashMap<>();
+    Map<Integer, Registration> schemaIdMap = new HashMap<>();
+    Map<Long, List<Registration>> fingerprintMap = new HashMap<>();
+    for (Subject subject : subjects) {
+      putSubject(subject, subjectIdMap, subjectNameMap, schemaIdMap, fingerprintMap);
+    }
+
+    this.commitId = commitId;
+    subjectIdToSubjectMap = Collections.unmodifiableMap(subjectIdMap);
+    subjectNameToSubjectMap = Collections.unmodifiableMap(subjectNameMap);
+    schemaIdToRegistrationMap = Collections.unmodifiableMap(schemaIdMap);
+    fingerprintToRegistrationsMap = Collections.unmodifiableMap(fingerprintMap);
   }
 
-  private static boolean isValidSubject(Path subjectDir) {
-    return Files.isDirectory(subjectDir) &&
-        !subjectDir.getFileName().toString().startsWith(".");
+  private ReadOnlySchemaRegistry(
+      String commitId,
+      Map<Integer, Subject> subjectIdMap,
+      Map<String, Subject> subjectNameMap,
+      Map<Integer, Registration> schemaIdMap,
+      Map<Long, List<Registration>> fingerprintMap) {
+
+    this.commitId = commitId;
+    subjectIdToSubjectMap = Collections.unmodifiableMap(subjectIdMap);
+    subjectNameToSubjectMap = Collections.unmodifiableMap(subjectNameMap);
+    schemaIdToRegistrationMap = Collections.unmodifiableMap(schemaIdMap);
+    fingerprintToRegistrationsMap = Collections.unmodifiableMap(fingerprintMap);
   }
 
-  private static int extractSubjectId(Path entry) {
-    String fileName = entry.getFileName().toString();
+  private static List<Registration> addRegistration(
+      List<Registration> registrations, List<Registration> added) {
+
+    // Copy on write, because snapshots share the lists of unchanged fingerprints.
+    List<Registration> result = new ArrayList<>(registrations.size() + added.size());
+    result.addAll(registrations);
+    result.addAll(added);
+    result.sort(Comparator.comparingInt(Registration::getSchemaId));
+    return Collections.unmodifiableList(result);
+  }
+
+  private static List<Registration> removeRegistration(
+      List<Registration> registrations, Registration removed) {
+
+    List<Registration> result = new ArrayList<>(registrations.size());
+    for (Registration registration : registrations) {
+      if (registration != removed) {
+        result.add(registration);
+      }
+    }
+
+    return result.isEmpty() ? null : Collections.unmodifiableList(result);
+  }
+
+  private static void putSubject(
+      Subject subject,
+      Map<Integer, Subject> subjectIdMap,
+      Map<String, Subject> subjectNameMap,
+      Map<Integer, Registration> schemaIdMap,
+      Map<Long, List<Registration>> fingerprintMap) {
+
+    subjectIdMap.put(subject.getSubjectId(), subject);
+    subjectNameMap.put(subject.getSubjectName(), subject);
+    for (Registration registration : subject.getVersionToRegistrationMap().values()) {
+      schemaIdMap.put(registration.getSchemaId(), registration);
+      fingerprintMap.merge(
+          registration.getFingerprint(),
+          List.of(registration),
+          ReadOnlySchemaRegistry::addRegistration);
+    }
+  }
+
+  private static void removeSubject(
+      Subject subject,
+      Map<Integer, Subject> subjectIdMap,
+      Map<String, Subject> subjectNameMap,
+      Map<Integer, Registration> schemaIdMap,
+      Map<Long, List<Registration>> fingerprintMap) {
+
+    subjectIdMap.remove(subject.getSubjectId(), subject);
+    subjectNameMap.remove(subject.getSubjectName(), subject);
+    for (Registration registration : subject.getVersionToRegistrationMap().values()) {
+      schemaIdMap.remove(registration.getSchemaId(), registration);
+      fingerprintMap.computeIfPresent(
+          registration.getFingerprint(),
+          (fingerprint, registrations) -> removeRegistration(registrations, registration));
+    }
+  }
+
+  /**
+   * Creates a snapshot which rereads only the given subject directories. Subjects in other
+   * directories are shared with this snapshot without being read again.
+   *
+   * @param commitId
+   *     ID of commit the changed subjects are read from
+   * @param source
+   *     reads subject directories
+   * @param subjectDirNames
+   *     names of subject directories which were added, modified or deleted
+   * @return new snapshot
+   */
+  public ReadOnlySchemaRegistry withChangedSubjects(
+      String commitId, SubjectSource source, Collection<String> subjectDirNames) {
+
+    Map<Integer, Subject> subjectIdMap = new HashMap<>(subjectIdToSubjectMap);
+    Map<String, Subject> subjectNameMap = new HashMap<>(subjectNameToSubjectMap);
+    Map<Integer, Registration> schemaIdMap = new HashMap<>(schemaIdToRegistrationMap);
+    Map<Long, List<Registration>> fingerprintMap = new HashMap<>(fingerprintToRegistrationsMap);
+
+    // Remove every changed subject before reading any, so a directory renamed while keeping its
+    // subject ID does not remove the subject read from the new name.
+    for (String subjectDirName : subjectDirNames) {
+      Subject oldSubject = subjectNameMap.get(extractSubjectName(subjectDirName));
+      if (oldSubject != null && oldSubject.getSubjectId() == extractSubjectId(subjectDirName)) {
+        removeSubject(oldSubject, subjectIdMap, subjectNameMap, schemaIdMap, fingerprintMap);
+      }
+    }
+
+    for (String subjectDirName : subjectDirNames) {
+      if (extractSubjectId(subjectDirName) == INVALID_ID
+          || extractSubjectName(subjectDirName).isEmpty()) {
+        continue;
+      }
+
+      Subject subject = readSubject(source, subjectDirName);
+      if (subject != null) {
+        putSubject(subject, subjectIdMap, subjectNameMap, schemaIdMap, fingerprintMap);
+      }
+    }
+
+    return new ReadOnlySchemaRegistry(
+        commitId, subjectIdMap, subjectNameMap, schemaIdMap, fingerprintMap);
+  }
+
+  private static boolean isValidSubject(String subjectDirName) {
+    return !subjectDirName.startsWith(".");
+  }
+
+  private static int extractSubjectId(String fileName) {
     int idEnd = fileName.indexOf(ID_SEPARATOR);
     if (idEnd < 0) {
       return INVALID_ID;
@@ -58,8 +259,7 @@ public class ReadOnlySchemaRegistry {
     }
   }
 
-  private static String extractSubjectName(Path entry) {
-    String fileName = entry.getFileName().toString();
+  private static String extractSubjectName(String fileName) {
     int idEnd = fileName.indexOf(ID_SEPARATOR);
     if (idEnd < 0) {
       return "";
@@ -68,8 +268,7 @@ public class ReadOnlySchemaRegistry {
     return fileName.substring(idEnd + 1);
   }
 
-  private static int extractVersion(Path entry) {
-    String fileName = entry.getFileName().toString();
+  private static int extractVersion(String fileName) {
     int versionEnd = fileName.indexOf('.');
     if (versionEnd < 0) {
       return INVALID_ID;
@@ -82,29 +281,65 @@ public class ReadOnlySchemaRegistry {
     }
   }
 
-  private void readSubject(Path subjectDir) {
-    int subjectId = extractSubjectId(subjectDir);
-    String subjectName = extractSubjectName(subjectDir);
-    if (subjectId == INVALID_ID || subjectName.isEmpty()) {
-      log.warn("Ignoring invalid directory name [{}]", subjectDir);
-      return;
+  private static Registration toRegistration(
+      int subjectId, String subjectName, int version, String schema, String versionFile) {
+
+    long fingerprint;
+    try {
+      fingerprint = SchemaUtils.fingerprint(schema);
+    } catch (SchemaParseException e) {
+      log.warn("Ignoring invalid schema in file [{}]", versionFile, e);
+      return null;
     }
 
-    subjectIdToDirectoryMap.put(subjectId, subjectDir);
-    subjectNameToDirectoryMap.put(subjectName, subjectDir);
+    return Registration.of(subjectId * FACTOR + version, subjectName, version, schema, fingerprint);
   }
 
-  private void readSubjects(Path subjectsDir) {
-    try {
-      DirectoryStream<Path> subjectDirs = Files.newDirectoryStream(
-          subjectsDir, ReadOnlySchemaRegistry::isValidSubject);
+  private static Subject readSubject(SubjectSource source, String subjectDirName) {
+    if (!isValidSubject(subjectDirName)) {
+      return null;
+    }
+
+    int subjectId = extractSubjectId(subjectDirName);
+    String subjectName = extractSubjectName(subjectDirName);
+    if (subjectId == INVALID_ID || subjectName.isEmpty()) {
+      log.warn("Ignoring invalid directory name [{}]", subjectDirName);
+      return null;
+    }
+
+    Map<String, String> fileNameToContentMap = source.readFiles(subjectDirName);
+    if (fileNameToContentMap == null) {
+      return null;
+    }
 
-      for (Path subjectDir : subjectDirs) {
-        readSubject(subjectDir);
+    List<Registration> registrations = new ArrayList<>();
+    for (Map.Entry<String, String> entry : fileNameToContentMap.entrySet()) {
+      String versionFile = subjectDirName + '/' + entry.getKey();
+      int version = extractVersion(entry.getKey());
+      if (version >= 0) {
+        Registration registration =
+            toRegistration(subjectId, subjectName, version, entry.getValue(), versionFile);
+        if (registration != null) {
+          registrations.add(registration);
+        }
+      } else {
+        log.warn("Ignoring invalid file name [{}]", versionFile);
       }
-    } catch (IOException e) {
-      throw new IllegalStateException("Cannot read subjects", e);
     }
+
+    return new Subject(subjectId, subjectName, registrations);
+  }
+
+  private static List<Subject> readSubjects(SubjectSource source) {
+    List<Subject> subjects = new ArrayList<>();
+    for (String subjectDirName : source.listSubjectDirectoryNames()) {
+      Subject subject = readSubject(source, subjectDirName);
+      if (subject != null) {
+        subjects.add(subject);
+      }
+    }
+
+    return subjects;
   }
 
   /**
@@ -113,46 +348,32 @@ public class ReadOnlySchemaRegistry {
    * @return subjects
    */
   public Set<String> findSubjectNames() {
-    return subjectNameToDirectoryMap.keySet();
+    return subjectNameToSubjectMap.keySet();
   }
 
-  private Path getSubjectDirectory(String subjectName) {
-    Path subjectDir = subjectNameToDirectoryMap.get(subjectName);
-    if (subjectDir == null) {
-      throw new NotFoundException("Subject name [" + subjectName + "] not found");
+  private static <K, E extends RuntimeException> E putMiss(Map<K, E> cache, K key, E exception) {
+    if (cache.size() >= MAX_MISS_CACHE_SIZE) {
+      // Bound memory by starting over rather than tracking recency on every hit.
+      cache.clear();
     }
 
-    return subjectDir;
-  }
-
-  private static DirectoryStream<Path> streamVersionFiles(Path subjectDir) {
-    log.info("Reading directory {}", subjectDir);
-    try {
-      return Files.newDirectoryStream(
-          subjectDir,
-          entry -> Files.isRegularFile(entry));
-    } catch (IOException e) {
-      throw new IllegalStateException("Cannot read directory [" + subjectDir + "]", e);
-    }
+    cache.put(key, exception);
+    return exception;
   }
 
-  private List<Integer> findVersionsBySubject(Path subjectDir) {
-    List<Integer> sortedVersions = new ArrayList<>();
-    try (DirectoryStream<Path> versionFiles = streamVersionFiles(subjectDir)) {
-      for (Path versionFile : versionFiles) {
-        int version = extractVersion(versionFile);
-        if (version >= 0) {
-          sortedVersions.add(version);
-        } else {
-          log.warn("Ignoring invalid file name [{}]", versionFile);
-        }
+  private Subject getSubject(String subjectName) {
+    Subject subject = subjectNameToSubjectMap.get(subjectName);
+    if (subject == null) {
+      NotFoundException exception = subjectNotFoundCache.get(subjectName);
+      if (exception == null) {
+        exception = putMiss(subjectNotFoundCache, subjectName,
+            new NotFoundException("Subject name [" + subjectName + "] not found"));
       }
-    } catch (IOException e) {
-      throw new IllegalStateException("Error closing DirectoryStream", e);
+
+      throw exception;
     }
 
-    sortedVersions.sort(null);
-    return sortedVersions;
+    return subject;
   }
 
   /**
@@ -163,34 +384,34 @@ public class ReadOnlySchemaRegistry {
    * @return versions
    */
   public List<Integer> findVersionsBySubjectName(String subjectName) {
-    Path subjectDir = getSubjectDirectory(subjectName);
-    return findVersionsBySubject(subjectDir);
+    return getSubject(subjectName).getVersions();
   }
 
-  private static Registration toRegistration(Path subjectDir, int version, String schema) {
-    return Registration.builder()
-        .schemaId(extractSubjectId(subjectDir) * FACTOR + version)
-        .subjectName(extractSubjectName(subjectDir))
-        .version(version)
-        .schema(schema)
+  private static SchemaResponse toSchemaResponse(Registration registration) {
+    return SchemaResponse.builder()
+        .id(registration.getSchemaId())
+        .name(registration.getSubjectName())
+        .version(registration.getVersion())
+        .schema(registration.getSchema())
         .build();
   }
 
-  private Registration findRegistrationBySubjectAndVersion(Path subjectDir, int version) {
-    String fileName = String.format("%03d.avsc", version);
-    Path schemaFile = subjectDir.resolve(fileName);
-    String schema;
-    try {
-      schema = Files.readString(schemaFile, StandardCharsets.UTF_8);
-    } catch (IOException e) {
+  /**
+   * Finds registration by subject name and version.
+   *
+   * @param subjectName
+   *     subject name to search for
+   * @param version
+   *     version to search for
+   * @return registration
+   */
+  public Registration findRegistrationBySubjectNameAndVersion(String subjectName, int version) {
+    Registration registration = getSubject(subjectName).findRegistrationByVersion(version);
+    if (registration == null) {
       throw new NotFoundException("Version [" + version + "] not found");
     }
 
-    return toRegistration(subjectDir, version, schema);
-  }
-
-  private Registration findRegistrationBySubjectNameAndVersion(String subjectName, int version) {
-    return findRegistrationBySubjectAndVersion(getSubjectDirectory(subjectName), version);
+    return registration;
   }
 
   /**
@@ -203,13 +424,23 @@ public class ReadOnlySchemaRegistry {
    * @return registration
    */
   public SchemaResponse findSchemaBySubjectNameAndVersion(String subjectName, int version) {
-    Registration registration = findRegistrationBySubjectNameAndVersion(subjectName, version);
-    return SchemaResponse.builder()
-        .id(registration.getSchemaId())
-        .name(registration.getSubjectName())
-        .version(registration.getVersion())
-        .schema(registration.getSchema())
-        .build();
+    return toSchemaResponse(findRegistrationBySubjectNameAndVersion(subjectName, version));
+  }
+
+  /**
+   * Finds latest registration by subject.
+   *
+   * @param subjectName
+   *     subject to search for
+   * @return registration
+   */
+  public Registration findLatestRegistrationBySubjectName(String subjectName) {
+    Registration registration = getSubject(subjectName).findLatestRegistration();
+    if (registration == null) {
+      throw new NotFoundException("Subject name [" + subjectName + "] has no versions");
+    }
+
+    return registration;
   }
 
   /**
@@ -220,9 +451,36 @@ public class ReadOnlySchemaRegistry {
    * @return registration
    */
   public SchemaResponse findLatestSchemaBySubjectName(String subjectName) {
-    List<Integer> versions = findVersionsBySubjectName(subjectName);
-    int latestVersion = versions.get(versions.size() - 1);
-    return findSchemaBySubjectNameAndVersion(subjectName, latestVersion);
+    return toSchemaResponse(findLatestRegistrationBySubjectName(subjectName));
+  }
+
+  /**
+   * Finds registration by schema ID.
+   *
+   * @param schemaId
+   *     schema ID to search for
+   * @return registration
+   */
+  public Registration findRegistrationBySchemaId(int schemaId) {
+    Registration registration = schemaIdToRegistrationMap.get(schemaId);
+    if (registration == null) {
+      NotFoundException exception = schemaIdNotFoundCache.get(schemaId);
+      if (exception == null) {
+        exception = putMiss(schemaIdNotFoundCache, schemaId,
+            new NotFoundException(toSchemaIdNotFoundMessage(schemaId)));
+      }
+
+      throw exception;
+    }
+
+    return registration;
+  }
+
+  private String toSchemaIdNotFoundMessage(int schemaId) {
+    int subjectId = schemaId / FACTOR;
+    return subjectIdToSubjectMap.containsKey(subjectId)
+        ? "Version [" + schemaId % FACTOR + "] not found"
+        : "Subject ID [" + subjectId + "] not found";
   }
 
   /**
@@ -233,19 +491,120 @@ public class ReadOnlySchemaRegistry {
    * @return schema
    */
   public SchemaResponse findSchemaBySchemaId(int schemaId) {
-    int subjectId = schemaId / FACTOR;
-    Path subjectDir = subjectIdToDirectoryMap.get(subjectId);
-    if (subjectDir == null) {
-      throw new NotFoundException("Subject ID [" + subjectId + "] not found");
+    return SchemaResponse.builder()
+        .schema(findRegistrationBySchemaId(schemaId).getSchema())
+        .build();
+  }
+
+  /**
+   * Finds schemas by schema IDs. A schema ID not found does not fail the lookup, but is reported
+   * in the errors.
+   *
+   * @param schemaIds
+   *     schema IDs to search for
+   * @return schemas in the order of the schema IDs, and errors
+   */
+  public SchemasResponse findSchemasBySchemaIds(Collection<Integer> schemaIds) {
+    List<SchemaResponse> schemas = new ArrayList<>(schemaIds.size());
+    List<SchemaIdErrorResponse> errors = new ArrayList<>();
+    for (Integer schemaId : new LinkedHashSet<>(schemaIds)) {
+      if (schemaId == null) {
+        continue;
+      }
+
+      Registration registration = schemaIdToRegistrationMap.get(schemaId);
+      if (registration == null) {
+        errors.add(SchemaIdErrorResponse.builder()
+            .id(schemaId)
+            .errorCode(ErrorResponse.SCHEMA_NOT_FOUND_CODE)
+            .message(toSchemaIdNotFoundMessage(schemaId))
+            .build());
+      } else {
+        schemas.add(SchemaResponse.builder()
+            .id(schemaId)
+            .subject(registration.getSubjectName())
+            .version(registration.getVersion())
+            .schema(registration.getSchema())
+            .build());
+      }
     }
 
-    int version = schemaId % FACTOR;
-    Registration registration = findRegistrationBySubjectAndVersion(subjectDir, version);
-    return SchemaResponse.builder()
-        .schema(registration.getSchema())
+    return SchemasResponse.builder()
+        .schemas(schemas)
+        .errors(errors)
         .build();
   }
 
+  /**
+   * Finds registrations of a schema in all subjects by schema fingerprint.
+   *
+   * @param fingerprint
+   *     parsing fingerprint of schema to search for
+   * @return registrations in schema ID order
+   */
+  public List<Registration> findRegistrationsByFingerprint(long fingerprint) {
+    List<Registration> registrations = fingerprintToRegistrationsMap.get(fingerprint);
+    if (registrations == null) {
+      throw new NotFoundException("Schema fingerprint [" + fingerprint + "] not found");
+    }
+
+    return registrations;
+  }
+
+  private NotRegisteredException notRegistered(String subjectName, long fingerprint) {
+    var key = new SubjectFingerprint(subjectName, fingerprint);
+    NotRegisteredException exception = notRegisteredCache.get(key);
+    if (exception == null) {
+      exception = putMiss(notRegisteredCache, key, new NotRegisteredException(
+          "Schema not registered for subject [" + subjectName + "]"));
+    }
+
+    return exception;
+  }
+
+  /**
+   * Finds registration by subject name and schema fingerprint.
+   *
+   * @param subjectName
+   *     subject name to search for
+   * @param fingerprint
+   *     parsing fingerprint of schema to search for
+   * @return registration
+   */
+  public Registration findRegistrationBySubjectNameAndFingerprint(
+      String subjectName, long fingerprint) {
+
+    Registration registration = getSubject(subjectName).findRegistrationByFingerprint(fingerprint);
+    if (registration == null) {
+      throw notRegistered(subjectName, fingerprint);
+    }
+
+    return registration;
+  }
+
+  /**
+   * Finds registration by subject name and schema fingerprint. Computes the fingerprint only if
+   * the subject exists, so a lookup in an unknown subject does not parse the schema.
+   *
+   * @param subjectName
+   *     subject name to search for
+   * @param fingerprintSupplier
+   *     computes parsing fingerprint of schema to search for
+   * @return registration
+   */
+  public Registration findRegistrationBySubjectNameAndFingerprint(
+      String subjectName, LongSupplier fingerprintSupplier) {
+
+    Subject subject = getSubject(subjectName);
+    long fingerprint = fingerprintSupplier.getAsLong();
+    Registration registration = subject.findRegistrationByFingerprint(fingerprint);
+    if (registration == null) {
+      throw notRegistered(subjectName, fingerprint);
+    }
+
+    return registration;
+  }
+
   /**
    * Finds registration by subject name and schema.
    *
@@ -258,22 +617,7 @@ public class ReadOnlySchemaRegistry {
   public Registration findRegistrationBySubjectNameAndSchema(
       String subjectName, String schema) {
 
-    long fingerprint = SchemaUtils.fingerprint(schema);
-
-    Path subjectDir = getSubjectDirectory(subjectName);
-    try (DirectoryStream<Path> versionFiles = streamVersionFiles(subjectDir)) {
-      for (Path versionFile : versionFiles) {
-        String currentSchema = Files.readString(versionFile, StandardCharsets.UTF_8);
-        long currentFingerprint = SchemaUtils.fingerprint(currentSchema);
-        if (currentFingerprint == fingerprint) {
-          int version = extractVersion(versionFile);
-          return toRegistration(subjectDir, version, currentSchema);
-        }
-      }
-    } catch (IOException e) {
-      throw new IllegalStateException("Cannot read directory [" + subjectDir + "]", e);
-    }
-
-    throw new NotRegisteredException("Schema not registered for subject [" + subjectName + "]");
+    return findRegistrationBySubjectNameAndFingerprint(
+        subjectName, SchemaUtils.fingerprint(schema));
   }
 }
@@ -1,21 +1,90 @@
 package com.github.pukkaone.accession.schema.registry.domain;
 
-import lombok.AllArgsConstructor;
+import java.nio.charset.StandardCharsets;
+import lombok.AccessLevel;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.apache.avro.SchemaNormalization;
 
 /**
  * Record of schema version in registry.
  */
-@AllArgsConstructor
 @Builder
-@Data
-@NoArgsConstructor
+@Value
 public class Registration {
 
   private int schemaId;
   private String subjectName;
   private int version;
   private String schema;
+  private long fingerprint;
+
+  /**
+   * Entity tag identifying the content of responses about this registration.
+   */
+  private String etag;
+
+  /**
+   * Response bodies, serialized on first use, so loading a snapshot does not serialize every
+   * registration.
+   */
+  @EqualsAndHashCode.Exclude
+  @Getter(AccessLevel.NONE)
+  @NonFinal
+  @ToString.Exclude
+  private volatile ResponseBodies bodies;
+
+  private static String toEtag(int schemaId, String subjectName, String schema) {
+    // Hash the exact text, because the parsing fingerprint ignores changes such as documentation.
+    byte[] content = (subjectName + '\n' + schema).getBytes(StandardCharsets.UTF_8);
+    return schemaId + "-" + Long.toHexString(SchemaNormalization.fingerprint64(content));
+  }
+
+  /**
+   * Creates registration, including values derived from the schema.
+   *
+   * @param schemaId
+   *     schema ID
+   * @param subjectName
+   *     subject name
+   * @param version
+   *     version
+   * @param schema
+   *     schema
+   * @param fingerprint
+   *     parsing fingerprint of schema
+   * @return registration
+   */
+  public static Registration of(
+      int schemaId, String subjectName, int version, String schema, long fingerprint) {
+
+    return Registration.builder()
+        .schemaId(schemaId)
+        .subjectName(subjectName)
+        .version(version)
+        .schema(schema)
+        .fingerprint(fingerprint)
+        .etag(toEtag(schemaId, subjectName, schema))
+        .build();
+  }
+
+  /**
+   * Gets response bodies about this registration. Serialized on first call.
+   *
+   * @return response bodies
+   */
+  public ResponseBodies getBodies() {
+    ResponseBodies result = bodies;
+    if (result == null) {
+      // Concurrent first calls may each serialize, and any of the equal results may be kept.
+      result = ResponseBodies.of(schemaId, subjectName, version, schema);
+      bodies = result;
+    }
+
+    return result;
+  }
 }
@@ -0,0 +1,96 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import com.github.pukkaone.accession.schema.registry.model.ResponseBodyWriter;
+import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Response bodies about a registration, serialized once so requests can write the bytes directly.
+ * Callers must not modify the returned arrays.
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class ResponseBodies {
+
+  /**
+   * Body of response to get schema by schema ID.
+   */
+  private final byte[] schemaById;
+
+  /**
+   * Body of response to get registration by subject and version.
+   */
+  private final byte[] registrationByVersion;
+
+  /**
+   * Body of response to get registration by subject and schema.
+   */
+  private final byte[] registrationBySchema;
+
+  /**
+   * Body of response to get schema ID by subject and schema.
+   */
+  private final byte[] schemaIdBySchema;
+
+  /**
+   * Serializes response bodies about a registration.
+   *
+   * @param schemaId
+   *     schema ID
+   * @param subjectName
+   *     subject name
+   * @param version
+   *     version
+   * @param schema
+   *     schema
+   * @return response bodies
+   */
+  public static ResponseBodies of(int schemaId, String subjectName, int version, String schema) {
+    return new ResponseBodies(
+        ResponseBodyWriter.write(SchemaResponse.builder()
+            .schema(schema)
+            .build()),
+        ResponseBodyWriter.write(SchemaResponse.builder()
+            .id(schemaId)
+            .name(subjectName)
+            .version(version)
+            .schema(schema)
+            .build()),
+        ResponseBodyWriter.write(SchemaResponse.builder()
+            .id(schemaId)
+            .subject(subjectName)
+            .version(version)
+            .schema(schema)
+            .build()),
+        ResponseBodyWriter.write(SchemaResponse.builder()
+            .id(schemaId)
+            .build()));
+  }
+
+  /**
+   * Joins the bodies of responses to get registration by subject and schema into a JSON array,
+   * without serializing the registrations again.
+   *
+   * @param registrations
+   *     registrations
+   * @return UTF-8 encoded JSON array
+   */
+  public static byte[] toRegistrationBySchemaArray(List<Registration> registrations) {
+    var output = new ByteArrayOutputStream();
+    output.write('[');
+    for (int i = 0; i < registrations.size(); ++i) {
+      if (i > 0) {
+        output.write(',');
+      }
+
+      output.writeBytes(registrations.get(i).getBodies().getRegistrationBySchema());
+    }
+
+    output.write(']');
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,26 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports out of service until the first schema registry is published and caches are warmed up.
+ * Included in the readiness health group, so load balancers do not send requests before the server
+ * can answer them at full speed.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaRegistryHealthIndicator implements HealthIndicator {
+
+  private final SchemaRegistrySupplier schemaRegistrySupplier;
+
+  @Override
+  public Health health() {
+    // Does not get the schema registry, which in on-demand refresh mode could pull.
+    return schemaRegistrySupplier.isReady()
+        ? Health.up().build()
+        : Health.outOfService().withDetail("reason", "Schema registry is still loading").build();
+  }
+}
@@ -0,0 +1,99 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties.RefreshMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically pulls from the Git repository in the background, so request threads never wait for
+ * the remote repository. Also pulls on request, for example when the Git server notifies of a push.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaRegistryRefresher {
+
+  private final SchemaRegistryProperties properties;
+  private final SchemaRegistrySupplier schemaRegistrySupplier;
+  private final TaskScheduler taskScheduler;
+
+  private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+  private volatile boolean running;
+  private volatile ScheduledFuture<?> scheduledRefresh;
+
+  @PostConstruct
+  private void start() {
+    running = true;
+    if (schemaRegistrySupplier.isLoadedFromSnapshot()) {
+      // The snapshot may be stale, so pull now instead of after the interval.
+      scheduledRefresh = taskScheduler.schedule(this::refresh, Instant.now());
+    } else {
+      scheduleRefresh();
+    }
+  }
+
+  @PreDestroy
+  private void stop() {
+    running = false;
+    ScheduledFuture<?> refresh = scheduledRefresh;
+    if (refresh != null) {
+      refresh.cancel(false);
+    }
+  }
+
+  private Duration nextDelay() {
+    long jitterMillis = properties.getRefreshJitter().toMillis();
+    long randomMillis = (jitterMillis > 0)
+        ? ThreadLocalRandom.current().nextLong(jitterMillis + 1)
+        : 0;
+    return properties.getRefreshInterval().plusMillis(randomMillis);
+  }
+
+  private void scheduleRefresh() {
+    // In on-demand refresh mode, requests trigger pulls instead.
+    if (running && properties.getRefreshMode() == RefreshMode.SCHEDULED) {
+      scheduledRefresh = taskScheduler.schedule(this::refresh, Instant.now().plus(nextDelay()));
+    }
+  }
+
+  private void refresh() {
+    try {
+      schemaRegistrySupplier.refresh();
+    } catch (IllegalStateException e) {
+      log.warn("Cannot refresh schema registry", e);
+    } finally {
+      scheduleRefresh();
+    }
+  }
+
+  /**
+   * Requests a refresh in the background soon. Requests arriving before the refresh starts are
+   * combined into that one refresh.
+   */
+  public void requestRefresh() {
+    if (running && refreshRequested.compareAndSet(false, true)) {
+      taskScheduler.schedule(
+          this::refreshOnRequest, Instant.now().plus(properties.getRefreshDebounce()));
+    }
+  }
+
+  private void refreshOnRequest() {
+    refreshRequested.set(false);
+    try {
+      schemaRegistrySupplier.refresh();
+    } catch (IllegalStateException e) {
+      log.warn("Cannot refresh schema registry", e);
+    }
+  }
+}
@@ -1,10 +1,35 @@
 package com.github.pukkaone.accession.schema.registry.domain;
 
 import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties.RefreshMode;
+import com.github.pukkaone.accession.schema.registry.function.FingerprintCache;
+import com.github.pukkaone.accession.schema.registry.function.SchemaUtils;
+import com.github.pukkaone.accession.schema.registry.repository.CommitSubjectSource;
 import com.github.pukkaone.accession.schema.registry.repository.GitRepository;
+import com.github.pukkaone.accession.schema.registry.repository.SubjectSource;
+import com.github.pukkaone.accession.schema.registry.repository.WorkingTreeSubjectSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,25 +41,319 @@ import org.springframework.stereotype.Component;
 public class SchemaRegistrySupplier {
 
   private final SchemaRegistryProperties properties;
+  private final FingerprintCache fingerprintCache;
   private final GitRepository gitRepository;
+  private final SnapshotFile snapshotFile;
+  private final MeterRegistry meterRegistry;
+  private final TaskScheduler taskScheduler;
+
+  // A lock rather than synchronized, so a virtual thread waiting during a slow pull does not pin
+  // its carrier thread.
+  private final Lock refreshLock = new ReentrantLock();
 
   private String headId;
-  private ReadOnlySchemaRegistry schemaRegistry;
+  private volatile ReadOnlySchemaRegistry schemaRegistry;
+  private volatile boolean loadedFromSnapshot;
+  private volatile boolean ready;
+  private volatile Instant headCommitTime;
+
+  // In on-demand refresh mode, the pull in progress which requests wait for.
+  private final AtomicReference<CompletableFuture<Void>> refreshInProgress =
+      new AtomicReference<>();
+  private volatile long staleAtNanos = System.nanoTime();
 
   /**
-   * Supplies schema registry.
+   * Whether a request in on-demand refresh mode waits, at most the refresh timeout, for the pull
+   * it starts. The reactive server turns this off, because its requests run on event loop threads,
+   * which must not block.
+   */
+  @Getter
+  @Setter
+  private volatile boolean waitForRefresh = true;
+
+  private double countSubjects() {
+    ReadOnlySchemaRegistry registry = schemaRegistry;
+    return (registry == null) ? Double.NaN : registry.getSubjectIdToSubjectMap().size();
+  }
+
+  private double countVersions() {
+    ReadOnlySchemaRegistry registry = schemaRegistry;
+    return (registry == null) ? Double.NaN : registry.getSchemaIdToRegistrationMap().size();
+  }
+
+  private double getHeadCommitAgeSeconds() {
+    Instant commitTime = headCommitTime;
+    return (commitTime == null)
+        ? Double.NaN
+        : Duration.between(commitTime, Instant.now()).toMillis() / 1000.0;
+  }
+
+  private void registerGauges() {
+    Gauge.builder("schema.registry.subjects", this, SchemaRegistrySupplier::countSubjects)
+        .description("Number of subjects in the published schema registry")
+        .register(meterRegistry);
+    Gauge.builder("schema.registry.versions", this, SchemaRegistrySupplier::countVersions)
+        .description("Number of schema versions in the published schema registry")
+        .register(meterRegistry);
+    Gauge.builder(
+            "schema.registry.head.commit.age",
+            this,
+            SchemaRegistrySupplier::getHeadCommitAgeSeconds)
+        .description("Time since the published head commit was committed")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  private void warmUp(ReadOnlySchemaRegistry registry) {
+    // Lookups by schema most often send the latest version, either as stored or in the compact
+    // form Avro serializers send, so remember those fingerprints before the first request.
+    for (Subject subject : registry.getSubjectIdToSubjectMap().values()) {
+      Registration registration = subject.findLatestRegistration();
+      if (registration == null) {
+        continue;
+      }
+
+      String schema = registration.getSchema();
+      long fingerprint = registration.getFingerprint();
+      if (!fingerprintCache.preload(schema, fingerprint)
+          || !fingerprintCache.preload(SchemaUtils.toCompactString(schema), fingerprint)) {
+        return;
+      }
+    }
+  }
+
+  private void publish(ReadOnlySchemaRegistry registry) {
+    boolean first = schemaRegistry == null;
+    schemaRegistry = registry;
+    if (first) {
+      // The ID maps and response bodies are built with the registry, so only the fingerprint
+      // cache is left to fill.
+      warmUp(registry);
+      ready = true;
+      log.info(
+          "Published first schema registry commit_id={} {} ms after JVM start",
+          registry.getCommitId(),
+          ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+  }
+
+  private boolean loadInitial() {
+    refreshLock.lock();
+    try {
+      ReadOnlySchemaRegistry snapshot = snapshotFile.load();
+      if (snapshot != null) {
+        // Serve the last known commit until the background refresh pulls newer commits.
+        publish(snapshot);
+        headId = snapshot.getCommitId();
+        loadedFromSnapshot = true;
+        return true;
+      }
+
+      refresh();
+      return false;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private void loadInitialInBackground() {
+    try {
+      if (loadInitial()) {
+        // The refresher started before the snapshot was loaded, so it will not pull early.
+        refresh();
+      }
+    } catch (IllegalStateException e) {
+      log.warn("Cannot load schema registry", e);
+    }
+  }
+
+  @PostConstruct
+  private void initialize() {
+    registerGauges();
+
+    if (properties.isAsyncStartup()) {
+      taskScheduler.schedule(this::loadInitialInBackground, Instant.now());
+    } else {
+      loadInitial();
+    }
+  }
+
+  /**
+   * Checks if the first schema registry is published, and caches are warmed up to serve it.
+   *
+   * @return true if ready to serve requests
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Checks if the published schema registry was loaded from a saved snapshot, and has not been
+   * refreshed from the Git repository since.
+   *
+   * @return true if loaded from snapshot
+   */
+  public boolean isLoadedFromSnapshot() {
+    return loadedFromSnapshot;
+  }
+
+  private CompletableFuture<Void> startRefresh() {
+    var refresh = new CompletableFuture<Void>();
+    if (!refreshInProgress.compareAndSet(null, refresh)) {
+      // Another request started a pull first, so share it.
+      CompletableFuture<Void> existingRefresh = refreshInProgress.get();
+      return (existingRefresh == null) ? CompletableFuture.completedFuture(null) : existingRefresh;
+    }
+
+    try {
+      CompletableFuture.runAsync(this::refresh, task -> taskScheduler.schedule(task, Instant.now()))
+          .whenComplete((result, exception) -> {
+            // Also wait out the TTL after a failure, so an unavailable remote is not hammered.
+            staleAtNanos = System.nanoTime() + properties.getRefreshTtl().toNanos();
+            refreshInProgress.set(null);
+            if (exception == null) {
+              refresh.complete(null);
+            } else {
+              log.warn("Cannot refresh schema registry", exception);
+              refresh.completeExceptionally(exception);
+            }
+          });
+    } catch (TaskRejectedException e) {
+      log.warn("Cannot start refresh of schema registry", e);
+      refreshInProgress.set(null);
+      refresh.completeExceptionally(e);
+    }
+
+    return refresh;
+  }
+
+  private void refreshIfStale() {
+    if (System.nanoTime() - staleAtNanos < 0) {
+      return;
+    }
+
+    CompletableFuture<Void> refresh = startRefresh();
+    if (!waitForRefresh) {
+      // The pull finishes in the background, and a later request gets its result.
+      return;
+    }
+
+    try {
+      refresh.get(properties.getRefreshTimeout().toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      log.debug("Pull did not finish in time, so serving current schema registry");
+    } catch (ExecutionException e) {
+      // Already logged when the pull completed.
+      log.debug("Pull failed, so serving current schema registry");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Supplies the most recently published schema registry. In scheduled refresh mode, does not
+   * access the Git repository. In on-demand refresh mode, if the last pull is older than the
+   * refresh TTL, then pulls first, waiting at most the refresh timeout, or not at all if
+   * {@link #setWaitForRefresh(boolean) waitForRefresh} is off.
    *
    * @return schema registry
+   * @throws NotReadyException
+   *     if the first schema registry is still loading in the background
+   */
+  public ReadOnlySchemaRegistry getSchemaRegistry() {
+    if (properties.getRefreshMode() == RefreshMode.ON_DEMAND) {
+      refreshIfStale();
+    }
+
+    ReadOnlySchemaRegistry registry = schemaRegistry;
+    if (registry == null) {
+      throw new NotReadyException("Schema registry is still loading");
+    }
+
+    return registry;
+  }
+
+  /**
+   * Pulls changes from the remote repository, and publishes a new schema registry if the head
+   * commit changed.
    */
-  public synchronized ReadOnlySchemaRegistry getSchemaRegistry() {
-    String headId = gitRepository.refresh();
-    if (schemaRegistry == null || !headId.equals(this.headId)) {
-      log.info("Pulled commit_id={}", headId);
-      this.headId = headId;
-      Path subjectsDir = gitRepository.getWorkingDir().resolve(properties.getSubjectsDirectory());
-      schemaRegistry = new ReadOnlySchemaRegistry(subjectsDir);
+  public void refresh() {
+    refreshLock.lock();
+    try {
+      String headId = meterRegistry.timer("schema.registry.git.refresh")
+          .record(gitRepository::refresh);
+      boolean headChanged = schemaRegistry == null || !headId.equals(this.headId);
+      if (headChanged) {
+        log.info("Pulled commit_id={}", headId);
+        publish(meterRegistry.timer("schema.registry.load")
+            .record(() -> load(headId)));
+        this.headId = headId;
+        snapshotFile.save(schemaRegistry);
+      }
+
+      if (headChanged || headCommitTime == null) {
+        headCommitTime = gitRepository.getCommitTime(headId);
+      }
+
+      loadedFromSnapshot = false;
+      staleAtNanos = System.nanoTime() + properties.getRefreshTtl().toNanos();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private String getSubjectsPath() {
+    return Path.of(properties.getSubjectsDirectory())
+        .normalize()
+        .toString()
+        .replace('\\', '/');
+  }
+
+  private ReadOnlySchemaRegistry load(String headId) {
+    if (properties.isBare()) {
+      try (CommitSubjectSource source = gitRepository.openCommit(headId, getSubjectsPath())) {
+        return load(source, headId);
+      }
+    }
+
+    Path subjectsDir = gitRepository.getWorkingDir().resolve(properties.getSubjectsDirectory());
+    return load(new WorkingTreeSubjectSource(subjectsDir), headId);
+  }
+
+  private ReadOnlySchemaRegistry load(SubjectSource source, String headId) {
+    if (schemaRegistry == null) {
+      return new ReadOnlySchemaRegistry(headId, source);
+    }
+
+    Set<String> changedSubjectDirNames;
+    try {
+      changedSubjectDirNames = findChangedSubjectDirNames(this.headId, headId);
+    } catch (IllegalStateException e) {
+      log.warn("Cannot compare commits, so reading all subjects", e);
+      return new ReadOnlySchemaRegistry(headId, source);
+    }
+
+    log.info("Reading changed subject directories {}", changedSubjectDirNames);
+    return schemaRegistry.withChangedSubjects(headId, source, changedSubjectDirNames);
+  }
+
+  private Set<String> findChangedSubjectDirNames(String fromCommitId, String toCommitId) {
+    String subjectsPrefix = getSubjectsPath();
+    if (!subjectsPrefix.isEmpty()) {
+      subjectsPrefix += '/';
+    }
+
+    Set<String> subjectDirNames = new TreeSet<>();
+    for (String path : gitRepository.findChangedPaths(fromCommitId, toCommitId)) {
+      if (path.startsWith(subjectsPrefix)) {
+        String relativePath = path.substring(subjectsPrefix.length());
+        int separatorIndex = relativePath.indexOf('/');
+        if (separatorIndex > 0) {
+          subjectDirNames.add(relativePath.substring(0, separatorIndex));
+        }
+      }
     }
 
-    return schemaRegistry;
+    return subjectDirNames;
   }
 }
@@ -0,0 +1,206 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Saves the schema registry to a file, and loads it back on startup so the server can serve
+ * requests before it clones the Git repository. The file stores the commit ID, and the schemas with
+ * their fingerprints and entity tags, so loading it does not parse or hash schemas again. Response
+ * bodies are serialized on first use rather than on load.
+ */
+@Component
+@Slf4j
+public class SnapshotFile {
+
+  private static final String FILE_NAME = "snapshot.bin";
+  private static final int MAGIC = 0x41435352;
+  private static final int FORMAT_VERSION = 2;
+
+  private final Path file;
+  private final String sourceKey;
+
+  /**
+   * Constructor.
+   *
+   * @param properties
+   *     configuration properties
+   */
+  public SnapshotFile(SchemaRegistryProperties properties) {
+    this.file = StringUtils.hasText(properties.getSnapshotDirectory())
+        ? Path.of(properties.getSnapshotDirectory()).resolve(FILE_NAME)
+        : null;
+
+    // A snapshot taken from a different repository, branch or directory is not valid.
+    this.sourceKey = properties.getUri() + '\n'
+        + properties.getLabel() + '\n'
+        + properties.getSubjectsDirectory();
+  }
+
+  /**
+   * Checks if snapshots are configured to be saved.
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled() {
+    return file != null;
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private void write(DataOutputStream output, ReadOnlySchemaRegistry schemaRegistry)
+      throws IOException {
+
+    output.writeInt(MAGIC);
+    output.writeInt(FORMAT_VERSION);
+    writeString(output, sourceKey);
+    writeString(output, schemaRegistry.getCommitId());
+
+    output.writeInt(schemaRegistry.getSubjectIdToSubjectMap().size());
+    for (Subject subject : schemaRegistry.getSubjectIdToSubjectMap().values()) {
+      output.writeInt(subject.getSubjectId());
+      writeString(output, subject.getSubjectName());
+
+      List<Registration> registrations = subject.getRegistrations();
+      output.writeInt(registrations.size());
+      for (Registration registration : registrations) {
+        output.writeInt(registration.getSchemaId());
+        output.writeInt(registration.getVersion());
+        output.writeLong(registration.getFingerprint());
+        writeString(output, registration.getEtag());
+        writeString(output, registration.getSchema());
+      }
+    }
+  }
+
+  /**
+   * Saves schema registry, replacing the previously saved snapshot. Does nothing if snapshots are
+   * not enabled. Failure is logged rather than thrown, because the snapshot is only an
+   * optimization.
+   *
+   * @param schemaRegistry
+   *     schema registry to save
+   */
+  public void save(ReadOnlySchemaRegistry schemaRegistry) {
+    if (file == null) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(file.getParent());
+      Path tempFile = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+      try {
+        try (var output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+          write(output, schemaRegistry);
+        }
+
+        // Readers never see a partially written file.
+        Files.move(
+            tempFile,
+            file,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+
+      log.info("Saved snapshot commit_id={} file={}", schemaRegistry.getCommitId(), file);
+    } catch (IOException e) {
+      log.warn("Cannot save snapshot {}", file, e);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid string length " + length);
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private ReadOnlySchemaRegistry read(ByteBuffer buffer) {
+    if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unrecognized file format");
+    }
+
+    if (!sourceKey.equals(readString(buffer))) {
+      throw new IllegalArgumentException("Snapshot was taken from a different source");
+    }
+
+    String commitId = readString(buffer);
+
+    int subjectCount = buffer.getInt();
+    List<Subject> subjects = new ArrayList<>(Math.max(subjectCount, 0));
+    for (int i = 0; i < subjectCount; ++i) {
+      int subjectId = buffer.getInt();
+      String subjectName = readString(buffer);
+
+      int registrationCount = buffer.getInt();
+      List<Registration> registrations = new ArrayList<>(Math.max(registrationCount, 0));
+      for (int j = 0; j < registrationCount; ++j) {
+        int schemaId = buffer.getInt();
+        int version = buffer.getInt();
+        long fingerprint = buffer.getLong();
+        String etag = readString(buffer);
+        String schema = readString(buffer);
+        registrations.add(Registration.builder()
+            .schemaId(schemaId)
+            .subjectName(subjectName)
+            .version(version)
+            .schema(schema)
+            .fingerprint(fingerprint)
+            .etag(etag)
+            .build());
+      }
+
+      subjects.add(new Subject(subjectId, subjectName, registrations));
+    }
+
+    return new ReadOnlySchemaRegistry(commitId, subjects);
+  }
+
+  /**
+   * Loads previously saved schema registry.
+   *
+   * @return schema registry, or null if snapshots are not enabled or the file cannot be read
+   */
+  public ReadOnlySchemaRegistry load() {
+    if (file == null || !Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      ReadOnlySchemaRegistry schemaRegistry = read(buffer);
+      log.info("Loaded snapshot commit_id={} file={}", schemaRegistry.getCommitId(), file);
+      return schemaRegistry;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      log.warn("Cannot load snapshot {}", file, e);
+      return null;
+    }
+  }
+}
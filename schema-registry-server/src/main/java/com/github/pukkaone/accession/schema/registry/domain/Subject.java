@@ -0,0 +1,102 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable subject and its registered versions.
+ */
+@Getter
+public class Subject {
+
+  private final int subjectId;
+  private final String subjectName;
+  private final List<Integer> versions;
+  private final Map<Integer, Registration> versionToRegistrationMap;
+  private final Map<Long, Registration> fingerprintToRegistrationMap;
+
+  /**
+   * Constructor.
+   *
+   * @param subjectId
+   *     subject ID
+   * @param subjectName
+   *     subject name
+   * @param registrations
+   *     registered versions of the subject
+   */
+  public Subject(int subjectId, String subjectName, Collection<Registration> registrations) {
+    this.subjectId = subjectId;
+    this.subjectName = subjectName;
+
+    List<Registration> sortedRegistrations = new ArrayList<>(registrations);
+    sortedRegistrations.sort(Comparator.comparingInt(Registration::getVersion));
+
+    List<Integer> sortedVersions = new ArrayList<>(sortedRegistrations.size());
+    Map<Integer, Registration> registrationMap = new HashMap<>();
+    Map<Long, Registration> fingerprintMap = new HashMap<>();
+    for (Registration registration : sortedRegistrations) {
+      sortedVersions.add(registration.getVersion());
+      registrationMap.put(registration.getVersion(), registration);
+
+      // If multiple versions have the same schema, then the earliest version wins.
+      fingerprintMap.putIfAbsent(registration.getFingerprint(), registration);
+    }
+
+    this.versions = List.copyOf(sortedVersions);
+    this.versionToRegistrationMap = Map.copyOf(registrationMap);
+    this.fingerprintToRegistrationMap = Map.copyOf(fingerprintMap);
+  }
+
+  /**
+   * Finds registration by version.
+   *
+   * @param version
+   *     version to search for
+   * @return registration, or null if not found
+   */
+  public Registration findRegistrationByVersion(int version) {
+    return versionToRegistrationMap.get(version);
+  }
+
+  /**
+   * Finds registration by schema fingerprint.
+   *
+   * @param fingerprint
+   *     parsing fingerprint of schema to search for
+   * @return registration, or null if not found
+   */
+  public Registration findRegistrationByFingerprint(long fingerprint) {
+    return fingerprintToRegistrationMap.get(fingerprint);
+  }
+
+  /**
+   * Finds registration having the highest version.
+   *
+   * @return registration, or null if the subject has no versions
+   */
+  public Registration findLatestRegistration() {
+    return versions.isEmpty()
+        ? null
+        : versionToRegistrationMap.get(versions.get(versions.size() - 1));
+  }
+
+  /**
+   * Gets registrations in version order.
+   *
+   * @return registrations
+   */
+  public List<Registration> getRegistrations() {
+    List<Registration> registrations = new ArrayList<>(versions.size());
+    for (Integer version : versions) {
+      registrations.add(versionToRegistrationMap.get(version));
+    }
+
+    return registrations;
+  }
+}
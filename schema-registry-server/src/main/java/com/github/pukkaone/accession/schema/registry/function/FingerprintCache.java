@@ -0,0 +1,88 @@
+package com.github.pukkaone.accession.schema.registry.function;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers fingerprints of recently requested schemas, so repeated identical requests do not parse
+ * the schema again. The fingerprint of a schema does not depend on the registry contents, so
+ * entries remain valid across refreshes.
+ */
+@Component
+public class FingerprintCache {
+
+  private final int maximumSize;
+  private final Map<String, Long> schemaToFingerprintMap = new ConcurrentHashMap<>();
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Timer parseTimer;
+
+  /**
+   * Constructor.
+   *
+   * @param properties
+   *     configuration properties
+   * @param meterRegistry
+   *     registers metrics
+   */
+  public FingerprintCache(SchemaRegistryProperties properties, MeterRegistry meterRegistry) {
+    this.maximumSize = properties.getFingerprintCacheSize();
+    this.hitCounter = meterRegistry.counter("schema.registry.fingerprint.cache", "result", "hit");
+    this.missCounter = meterRegistry.counter("schema.registry.fingerprint.cache", "result", "miss");
+    this.parseTimer = Timer.builder("schema.registry.schema.parse")
+        .description("Time to parse and fingerprint a request schema")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Gets hash of normalized schema.
+   *
+   * @param schema
+   *     input schema
+   * @return hash
+   */
+  public long fingerprint(String schema) {
+    Long fingerprint = schemaToFingerprintMap.get(schema);
+    if (fingerprint != null) {
+      hitCounter.increment();
+      return fingerprint;
+    }
+
+    missCounter.increment();
+    fingerprint = parseTimer.record(() -> SchemaUtils.fingerprint(schema));
+    if (maximumSize > 0) {
+      if (schemaToFingerprintMap.size() >= maximumSize) {
+        // Bound memory by starting over rather than tracking recency on every hit.
+        schemaToFingerprintMap.clear();
+      }
+
+      schemaToFingerprintMap.put(schema, fingerprint);
+    }
+
+    return fingerprint;
+  }
+
+  /**
+   * Remembers the fingerprint of a schema, already known without parsing, if the cache is not
+   * full.
+   *
+   * @param schema
+   *     input schema
+   * @param fingerprint
+   *     hash of normalized schema
+   * @return true if remembered, or false if the cache is full
+   */
+  public boolean preload(String schema, long fingerprint) {
+    if (schemaToFingerprintMap.size() >= maximumSize) {
+      return false;
+    }
+
+    schemaToFingerprintMap.putIfAbsent(schema, fingerprint);
+    return true;
+  }
+}
@@ -0,0 +1,45 @@
+package com.github.pukkaone.accession.schema.registry.function;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long schema registry lookups take, separately from the time to read the request and
+ * write the response.
+ */
+@Component
+@RequiredArgsConstructor
+public class LookupTimer {
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> operationToTimerMap = new ConcurrentHashMap<>();
+
+  private Timer getTimer(String operation) {
+    return operationToTimerMap.computeIfAbsent(
+        operation,
+        key -> Timer.builder("schema.registry.lookup")
+            .description("Time to look up the schema registry")
+            .tag("operation", key)
+            .register(meterRegistry));
+  }
+
+  /**
+   * Executes lookup and records the time it took.
+   *
+   * @param <T>
+   *     lookup result type
+   * @param operation
+   *     name of lookup operation
+   * @param lookup
+   *     lookup to execute
+   * @return lookup result
+   */
+  public <T> T record(String operation, Supplier<T> lookup) {
+    return getTimer(operation).record(lookup);
+  }
+}
@@ -26,4 +26,16 @@ public final class SchemaUtils {
   public static long fingerprint(String schema) {
     return SchemaNormalization.parsingFingerprint64(parse(schema));
   }
+
+  /**
+   * Converts schema to the compact JSON form which Avro {@code Schema.toString()} returns, and
+   * which Avro serializers send.
+   *
+   * @param schema
+   *     input schema
+   * @return compact schema
+   */
+  public static String toCompactString(String schema) {
+    return parse(schema).toString();
+  }
 }
@@ -15,6 +15,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class ErrorResponse {
 
+  public static final int SCHEMA_NOT_FOUND_CODE = 40403;
+  public static final int NOT_REGISTERED_CODE = 42201;
+  public static final int NOT_READY_CODE = 50301;
+
   @JsonProperty("error_code")
   private int errorCode;
 
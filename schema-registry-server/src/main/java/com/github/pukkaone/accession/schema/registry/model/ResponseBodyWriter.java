@@ -0,0 +1,31 @@
+package com.github.pukkaone.accession.schema.registry.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes response bodies ahead of time.
+ */
+public final class ResponseBodyWriter {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  // Private constructor disallows creating instances of this class.
+  private ResponseBodyWriter() {
+  }
+
+  /**
+   * Serializes response body to JSON.
+   *
+   * @param body
+   *     response body
+   * @return UTF-8 encoded JSON
+   */
+  public static byte[] write(Object body) {
+    try {
+      return OBJECT_MAPPER.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize " + body, e);
+    }
+  }
+}
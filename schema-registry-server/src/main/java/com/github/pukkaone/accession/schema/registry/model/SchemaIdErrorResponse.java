@@ -0,0 +1,26 @@
+package com.github.pukkaone.accession.schema.registry.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Error looking up one schema ID in a batch.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class SchemaIdErrorResponse {
+
+  @JsonProperty("id")
+  private int id;
+
+  @JsonProperty("error_code")
+  private int errorCode;
+
+  @JsonProperty("message")
+  private String message;
+}
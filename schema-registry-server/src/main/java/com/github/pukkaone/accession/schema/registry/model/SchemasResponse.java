@@ -0,0 +1,20 @@
+package com.github.pukkaone.accession.schema.registry.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Schemas found by a batch lookup, and errors for the schema IDs not found.
+ */
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class SchemasResponse {
+
+  private List<SchemaResponse> schemas;
+  private List<SchemaIdErrorResponse> errors;
+}
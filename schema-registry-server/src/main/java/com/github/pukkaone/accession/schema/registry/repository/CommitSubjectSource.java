@@ -0,0 +1,116 @@
+package com.github.pukkaone.accession.schema.registry.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+/**
+ * Reads subjects directly from the Git object database at a specific commit, without a working
+ * tree.
+ */
+public class CommitSubjectSource implements SubjectSource, AutoCloseable {
+
+  private final ObjectReader reader;
+  private final ObjectId subjectsTreeId;
+
+  /**
+   * Constructor.
+   *
+   * @param repository
+   *     Git repository
+   * @param commitId
+   *     commit to read
+   * @param subjectsDirectory
+   *     path of directory containing subject directories, relative to the repository root
+   */
+  public CommitSubjectSource(
+      Repository repository, AnyObjectId commitId, String subjectsDirectory) {
+
+    reader = repository.newObjectReader();
+    try (RevWalk revWalk = new RevWalk(reader)) {
+      ObjectId rootTreeId = revWalk.parseTree(commitId);
+      subjectsTreeId = subjectsDirectory.isEmpty()
+          ? rootTreeId
+          : findSubtree(subjectsDirectory, rootTreeId);
+    } catch (IOException e) {
+      reader.close();
+      throw new IllegalStateException("Cannot read commit " + commitId.name(), e);
+    }
+
+    if (subjectsTreeId == null) {
+      reader.close();
+      throw new IllegalStateException(
+          "Directory " + subjectsDirectory + " not found in commit " + commitId.name());
+    }
+  }
+
+  private ObjectId findSubtree(String path, ObjectId treeId) throws IOException {
+    try (TreeWalk treeWalk = TreeWalk.forPath(reader, path, treeId)) {
+      if (treeWalk == null || !treeWalk.isSubtree()) {
+        return null;
+      }
+
+      return treeWalk.getObjectId(0);
+    }
+  }
+
+  @Override
+  public List<String> listSubjectDirectoryNames() {
+    List<String> subjectDirNames = new ArrayList<>();
+    try (TreeWalk treeWalk = new TreeWalk(reader)) {
+      treeWalk.addTree(subjectsTreeId);
+      while (treeWalk.next()) {
+        if (treeWalk.isSubtree()) {
+          subjectDirNames.add(treeWalk.getNameString());
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read subjects", e);
+    }
+
+    return subjectDirNames;
+  }
+
+  @Override
+  public Map<String, String> readFiles(String subjectDirName) {
+    try {
+      ObjectId subjectTreeId = findSubtree(subjectDirName, subjectsTreeId);
+      if (subjectTreeId == null) {
+        return null;
+      }
+
+      Map<String, String> fileNameToContentMap = new HashMap<>();
+      try (TreeWalk treeWalk = new TreeWalk(reader)) {
+        treeWalk.addTree(subjectTreeId);
+        while (treeWalk.next()) {
+          int mode = treeWalk.getRawMode(0);
+          if (FileMode.REGULAR_FILE.equals(mode) || FileMode.EXECUTABLE_FILE.equals(mode)) {
+            byte[] content = reader.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).getBytes();
+            fileNameToContentMap.put(
+                treeWalk.getNameString(), new String(content, StandardCharsets.UTF_8));
+          }
+        }
+      }
+
+      return fileNameToContentMap;
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read directory [" + subjectDirName + "]", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    reader.close();
+  }
+}
@@ -2,31 +2,61 @@ package com.github.pukkaone.accession.schema.registry.repository;
 
 import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
 import com.github.pukkaone.accession.schema.registry.ssh.PropertyBasedSshSessionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.JGitInternalException;
+import org.eclipse.jgit.errors.PackProtocolException;
+import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.FilterSpec;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.SshSessionFactory;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.FS;
 import org.eclipse.jgit.util.FileUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 /**
- * Clones a Git repository.
+ * Clones a Git repository. The clone has a working tree, unless configured to be bare. If
+ * configured with a directory, then an existing clone in that directory is reused. A directory is
+ * deleted to clone again only if it is empty or was cloned by this class, so a checkout someone
+ * else made, even of the configured repository, is never deleted.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class GitRepository {
 
+  /**
+   * Name of file created in the Git directory of each clone made by this class.
+   */
+  public static final String MARKER_FILE_NAME = "schema-registry-clone";
+
   private final SchemaRegistryProperties properties;
+  private final MeterRegistry meterRegistry;
 
   @Getter
   private Path workingDir;
@@ -43,14 +73,37 @@ public class GitRepository {
     }
   }
 
-  private void cloneRepository() {
+  private FilterSpec parseCloneFilter() {
+    try {
+      return FilterSpec.fromFilterLine(properties.getCloneFilter());
+    } catch (PackProtocolException e) {
+      throw new IllegalStateException("Invalid clone filter " + properties.getCloneFilter(), e);
+    }
+  }
+
+  private <C extends TransportCommand<C, ?>> C configureTransport(C command) {
+    if (StringUtils.hasText(properties.getCloneFilter())) {
+      FilterSpec filterSpec = parseCloneFilter();
+      command.setTransportConfigCallback(transport -> transport.setFilterSpec(filterSpec));
+    }
+
+    return command;
+  }
+
+  private Git cloneRepository(Path directory) {
     try {
       log.info("Cloning Git repository={} label={}", properties.getUri(), properties.getLabel());
-      git = Git.cloneRepository()
+      CloneCommand command = Git.cloneRepository()
           .setURI(properties.getUri())
+          .setBare(properties.isBare())
           .setBranch(properties.getLabel())
-          .setDirectory(workingDir.toFile())
-          .call();
+          .setBranchesToClone(List.of(getBranchRef()))
+          .setDirectory(directory.toFile());
+      if (properties.getCloneDepth() > 0) {
+        command.setDepth(properties.getCloneDepth());
+      }
+
+      return configureTransport(command).call();
     } catch (GitAPIException | JGitInternalException e) {
       throw new IllegalStateException(
           "Cannot clone Git repository " + properties.getUri() + " label " + properties.getLabel(),
@@ -58,33 +111,201 @@ public class GitRepository {
     }
   }
 
+  private boolean hasConfiguredRemote(Repository repository) {
+    String remoteUri = repository.getConfig()
+        .getString(
+            ConfigConstants.CONFIG_REMOTE_SECTION,
+            Constants.DEFAULT_REMOTE_NAME,
+            ConfigConstants.CONFIG_KEY_URL);
+    return properties.getUri().equals(remoteUri);
+  }
+
+  private boolean isCloneOfConfiguredRepository(Git candidate) {
+    Repository repository = candidate.getRepository();
+    return repository.isBare() == properties.isBare() && hasConfiguredRemote(repository);
+  }
+
+  private static Path findGitDir(Path directory) {
+    Path dotGit = directory.resolve(Constants.DOT_GIT);
+    return Files.isDirectory(dotGit) ? dotGit : directory;
+  }
+
+  private static boolean isEmptyDirectory(Path directory) throws IOException {
+    try (Stream<Path> entries = Files.list(directory)) {
+      return entries.findAny().isEmpty();
+    }
+  }
+
+  private boolean isDeletable(Path directory) {
+    if (!Files.exists(directory)) {
+      return true;
+    }
+
+    try {
+      if (!Files.isDirectory(directory)) {
+        return false;
+      }
+
+      if (isEmptyDirectory(directory)) {
+        return true;
+      }
+
+      return Files.exists(findGitDir(directory).resolve(MARKER_FILE_NAME));
+    } catch (IOException e) {
+      log.warn("Cannot inspect directory {}", directory, e);
+      return false;
+    }
+  }
+
+  private void checkDeletable(Path directory) {
+    // Never delete a directory this class did not create, in case the directory is misconfigured.
+    if (!isDeletable(directory)) {
+      throw new IllegalStateException(
+          "Directory " + directory + " is not empty and was not cloned by the schema registry"
+              + " server, so it will not be deleted. Configure a new or empty directory.");
+    }
+  }
+
+  private static void writeMarkerFile(Path directory) {
+    try {
+      Files.createFile(findGitDir(directory).resolve(MARKER_FILE_NAME));
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot create marker file in " + directory, e);
+    }
+  }
+
+  private Git openExistingClone() {
+    if (!RepositoryCache.FileKey.isGitRepository(
+        properties.isBare() ? workingDir.toFile() : workingDir.resolve(Constants.DOT_GIT).toFile(),
+        FS.DETECTED)) {
+      return null;
+    }
+
+    try {
+      Git candidate = Git.open(workingDir.toFile());
+      if (isCloneOfConfiguredRepository(candidate)) {
+        log.info("Opened existing clone directory={}", workingDir);
+        return candidate;
+      }
+
+      candidate.close();
+      log.warn("Directory {} is not a clone of {}, so cloning again", workingDir,
+          properties.getUri());
+    } catch (IOException e) {
+      log.warn("Cannot open existing clone {}, so cloning again", workingDir, e);
+    }
+
+    return null;
+  }
+
   @PostConstruct
   private void initialize() {
-    workingDir = createTempDirectory();
+    if (StringUtils.hasText(properties.getDirectory())) {
+      workingDir = Path.of(properties.getDirectory()).toAbsolutePath();
+      checkDeletable(workingDir);
+      git = openExistingClone();
+    } else {
+      workingDir = createTempDirectory();
+    }
 
     if (StringUtils.hasText(properties.getPrivateKey())) {
       SshSessionFactory.setInstance(new PropertyBasedSshSessionFactory(properties));
     }
+  }
+
+  private String getBranchRef() {
+    return Constants.R_HEADS + properties.getLabel();
+  }
 
-    cloneRepository();
+  private String getTrackingRef() {
+    // A bare clone maps remote branches directly to local branches.
+    return properties.isBare()
+        ? getBranchRef()
+        : Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + '/' + properties.getLabel();
   }
 
   private boolean pull() {
     try {
-      git.pull().call();
+      FetchCommand command = git.fetch()
+          .setRefSpecs(new RefSpec("+" + getBranchRef() + ":" + getTrackingRef()));
+      if (properties.getCloneDepth() > 0) {
+        command.setDepth(properties.getCloneDepth());
+      }
+
+      configureTransport(command).call();
+
+      // In a bare clone, fetch already updated the branch HEAD refers to.
+      if (!properties.isBare()) {
+        // The working tree is never modified locally, so move it to the fetched commit.
+        git.reset()
+            .setMode(ResetCommand.ResetType.HARD)
+            .setRef(getTrackingRef())
+            .call();
+      }
+
       return true;
     } catch (GitAPIException | JGitInternalException e) {
       log.warn("Cannot pull", e);
+      meterRegistry.counter("schema.registry.git.pull.failures").increment();
     }
 
     return false;
   }
 
-  private void createWorkingDir() {
+  private static void deleteRecursively(Path directory) {
     try {
-      Files.createDirectory(workingDir);
+      FileUtils.delete(
+          directory.toFile(), FileUtils.RECURSIVE | FileUtils.SKIP_MISSING | FileUtils.RETRY);
     } catch (IOException e) {
-      throw new IllegalStateException("Cannot create directory " + workingDir, e);
+      throw new IllegalStateException("Cannot delete directory " + directory, e);
+    }
+  }
+
+  private void recloneRepository() {
+    meterRegistry.counter("schema.registry.git.clones").increment();
+
+    // Clone into a side directory, so if the clone fails, the existing clone remains.
+    Path newDir = workingDir.resolveSibling(workingDir.getFileName() + ".new");
+    checkDeletable(newDir);
+    deleteRecursively(newDir);
+    cloneRepository(newDir).close();
+    writeMarkerFile(newDir);
+
+    if (git != null) {
+      git.close();
+      git = null;
+    }
+
+    // Move the existing clone aside rather than delete it, so the directory always holds a
+    // complete clone, and the existing clone is restored if the new clone cannot be moved in.
+    checkDeletable(workingDir);
+    Path oldDir = workingDir.resolveSibling(workingDir.getFileName() + ".old");
+    checkDeletable(oldDir);
+    deleteRecursively(oldDir);
+    boolean hasOldDir = Files.exists(workingDir);
+    try {
+      if (hasOldDir) {
+        Files.move(workingDir, oldDir, StandardCopyOption.ATOMIC_MOVE);
+      }
+
+      moveNewClone(newDir, oldDir, hasOldDir);
+      git = Git.open(workingDir.toFile());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot move " + newDir + " to " + workingDir, e);
+    }
+
+    deleteRecursively(oldDir);
+  }
+
+  private void moveNewClone(Path newDir, Path oldDir, boolean hasOldDir) throws IOException {
+    try {
+      Files.move(newDir, workingDir, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      if (hasOldDir) {
+        Files.move(oldDir, workingDir, StandardCopyOption.ATOMIC_MOVE);
+      }
+
+      throw e;
     }
   }
 
@@ -99,24 +320,78 @@ public class GitRepository {
   }
 
   /**
-   * Pulls changes from remote repository.
+   * Pulls changes from remote repository. Clones the repository if not cloned yet, or if the pull
+   * fails, for example because the clone is corrupt.
    *
    * @return head commit ID
    */
   public String refresh() {
-    if (!pull()) {
-      // Clear working directory and clone repository again.
-      try {
-        FileUtils.delete(workingDir.toFile(), FileUtils.RECURSIVE);
-      } catch (IOException e) {
-        throw new IllegalStateException("Cannot delete directory " + workingDir, e);
-      } finally {
-        createWorkingDir();
-      }
-
-      cloneRepository();
+    if (git == null || !pull()) {
+      recloneRepository();
     }
 
     return resolveHead();
   }
+
+  /**
+   * Opens a reader of subjects as of a specific commit. The reader reads directly from the Git
+   * object database, so it does not depend on the working tree.
+   *
+   * @param commitId
+   *     commit to read
+   * @param subjectsDirectory
+   *     path of directory containing subject directories, relative to the repository root
+   * @return subject reader, which the caller must close
+   */
+  public CommitSubjectSource openCommit(String commitId, String subjectsDirectory) {
+    return new CommitSubjectSource(
+        git.getRepository(), ObjectId.fromString(commitId), subjectsDirectory);
+  }
+
+  /**
+   * Gets the time a commit was committed.
+   *
+   * @param commitId
+   *     commit ID
+   * @return commit time
+   */
+  public Instant getCommitTime(String commitId) {
+    try (RevWalk revWalk = new RevWalk(git.getRepository())) {
+      return Instant.ofEpochSecond(
+          revWalk.parseCommit(ObjectId.fromString(commitId)).getCommitTime());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read commit " + commitId, e);
+    }
+  }
+
+  /**
+   * Finds paths of files that differ between two commits.
+   *
+   * @param fromCommitId
+   *     ID of old commit
+   * @param toCommitId
+   *     ID of new commit
+   * @return paths of added, modified and deleted files, relative to the repository root
+   */
+  public List<String> findChangedPaths(String fromCommitId, String toCommitId) {
+    Repository repository = git.getRepository();
+    try (RevWalk revWalk = new RevWalk(repository);
+        TreeWalk treeWalk = new TreeWalk(repository)) {
+
+      treeWalk.addTree(revWalk.parseTree(ObjectId.fromString(fromCommitId)));
+      treeWalk.addTree(revWalk.parseTree(ObjectId.fromString(toCommitId)));
+      treeWalk.setFilter(TreeFilter.ANY_DIFF);
+      treeWalk.setRecursive(true);
+
+      List<String> changedPaths = new ArrayList<>();
+      while (treeWalk.next()) {
+        changedPaths.add(treeWalk.getPathString());
+      }
+
+      return changedPaths;
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Cannot compare commit " + fromCommitId + " to " + toCommitId, e);
+    }
+  }
 }
@@ -0,0 +1,26 @@
+package com.github.pukkaone.accession.schema.registry.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads subject directories and the schema files in them.
+ */
+public interface SubjectSource {
+
+  /**
+   * Lists names of subject directories.
+   *
+   * @return directory names
+   */
+  List<String> listSubjectDirectoryNames();
+
+  /**
+   * Reads files in a subject directory.
+   *
+   * @param subjectDirName
+   *     subject directory name
+   * @return map of file name to file content, or null if the directory does not exist
+   */
+  Map<String, String> readFiles(String subjectDirName);
+}
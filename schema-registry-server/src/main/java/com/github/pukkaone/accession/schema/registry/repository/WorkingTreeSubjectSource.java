@@ -0,0 +1,59 @@
+package com.github.pukkaone.accession.schema.registry.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads subjects from a directory in the file system.
+ */
+@RequiredArgsConstructor
+public class WorkingTreeSubjectSource implements SubjectSource {
+
+  private final Path subjectsDir;
+
+  @Override
+  public List<String> listSubjectDirectoryNames() {
+    List<String> subjectDirNames = new ArrayList<>();
+    try (DirectoryStream<Path> subjectDirs =
+        Files.newDirectoryStream(subjectsDir, entry -> Files.isDirectory(entry))) {
+
+      for (Path subjectDir : subjectDirs) {
+        subjectDirNames.add(subjectDir.getFileName().toString());
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read subjects", e);
+    }
+
+    return subjectDirNames;
+  }
+
+  @Override
+  public Map<String, String> readFiles(String subjectDirName) {
+    Path subjectDir = subjectsDir.resolve(subjectDirName);
+    if (!Files.isDirectory(subjectDir)) {
+      return null;
+    }
+
+    Map<String, String> fileNameToContentMap = new HashMap<>();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(subjectDir, entry -> Files.isRegularFile(entry))) {
+
+      for (Path file : files) {
+        fileNameToContentMap.put(
+            file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read directory [" + subjectDir + "]", e);
+    }
+
+    return fileNameToContentMap;
+  }
+}
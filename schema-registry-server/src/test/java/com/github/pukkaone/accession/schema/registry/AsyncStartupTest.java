@@ -0,0 +1,142 @@
+package com.github.pukkaone.accession.schema.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.controller.CustomExceptionHandler;
+import com.github.pukkaone.accession.schema.registry.controller.SchemaController;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistryHealthIndicator;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.repository.GitRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Tests the server answers requests while the schema registry loads in the background.
+ */
+@AutoConfigureMockMvc
+@Import({AsyncStartupTest.MyConfiguration.class, GitTestConfiguration.class})
+@SpringBootTest(properties = "schema.registry.server.git.async-startup=true")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AsyncStartupTest {
+
+  private static final CountDownLatch RELEASE_CLONE = new CountDownLatch(1);
+  private static final long WAIT_MILLIS = 10_000;
+
+  /**
+   * Holds the background clone until a test releases it.
+   */
+  @TestConfiguration
+  static class MyConfiguration {
+    @Bean
+    @Primary
+    public GitRepository blockedGitRepository(
+        SchemaRegistryProperties properties, MeterRegistry meterRegistry) {
+
+      return new GitRepository(properties, meterRegistry) {
+        @Override
+        public String refresh() {
+          try {
+            RELEASE_CLONE.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+
+          return super.refresh();
+        }
+      };
+    }
+  }
+
+  private static final String URI =
+      SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+  private static final String READINESS_URI = "/actuator/health/readiness";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private HealthEndpointGroups healthEndpointGroups;
+
+  @Autowired
+  private SchemaRegistryHealthIndicator schemaRegistryHealthIndicator;
+
+  @Autowired
+  private SchemaRegistrySupplier schemaRegistrySupplier;
+
+  @Test
+  void when_readiness_group_then_includes_schema_registry() {
+    assertThat(healthEndpointGroups.get("readiness").isMember("schemaRegistry")).isTrue();
+  }
+
+  @Order(1)
+  @Test
+  void given_loading_when_health_then_out_of_service() throws Exception {
+    assertThat(schemaRegistryHealthIndicator.health().getStatus())
+        .isEqualTo(Status.OUT_OF_SERVICE);
+    mockMvc.perform(
+            get(READINESS_URI))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Order(1)
+  @Test
+  void given_loading_when_get_schema_then_service_unavailable() throws Exception {
+    var response = mockMvc.perform(
+            get(URI, 1234567001))
+        .andExpect(status().isServiceUnavailable())
+        .andReturn()
+        .getResponse();
+
+    var errorResponse =
+        objectMapper.readValue(response.getContentAsByteArray(), ErrorResponse.class);
+    assertThat(errorResponse.getErrorCode()).isEqualTo(CustomExceptionHandler.NOT_READY_CODE);
+    assertThat(schemaRegistrySupplier.isReady()).isFalse();
+  }
+
+  @Order(2)
+  @Test
+  void given_loaded_when_get_schema_then_ok() throws Exception {
+    RELEASE_CLONE.countDown();
+    long deadlineMillis = System.currentTimeMillis() + WAIT_MILLIS;
+    while (!schemaRegistrySupplier.isReady() && System.currentTimeMillis() < deadlineMillis) {
+      TimeUnit.MILLISECONDS.sleep(50);
+    }
+
+    assertThat(schemaRegistrySupplier.isReady()).isTrue();
+    mockMvc.perform(
+            get(URI, 1234567001))
+        .andExpect(status().isOk());
+  }
+
+  @Order(3)
+  @Test
+  void given_loaded_when_health_then_up() throws Exception {
+    assertThat(schemaRegistryHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    mockMvc.perform(
+            get(READINESS_URI))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,34 @@
+package com.github.pukkaone.accession.schema.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Tests reading schemas from a bare clone.
+ */
+@Import(GitTestConfiguration.class)
+@SpringBootTest(properties = "schema.registry.server.git.bare=true")
+class BareCloneTest {
+
+  @Autowired
+  private SchemaRegistrySupplier schemaRegistrySupplier;
+
+  @Test
+  void given_bare_clone_then_read_subjects_and_versions() {
+    ReadOnlySchemaRegistry schemaRegistry = schemaRegistrySupplier.getSchemaRegistry();
+
+    assertThat(schemaRegistry.findSubjectNames())
+        .containsExactlyInAnyOrder("topic1-value", "topic2-value");
+    assertThat(schemaRegistry.findVersionsBySubjectName("topic1-value")).containsExactly(1, 2);
+    assertThat(schemaRegistry.findVersionsBySubjectName("topic2-value")).containsExactly(1, 2);
+    assertThat(schemaRegistry.findRegistrationBySubjectNameAndVersion("topic1-value", 2)
+        .getSchemaId())
+        .isEqualTo(1234567002);
+  }
+}
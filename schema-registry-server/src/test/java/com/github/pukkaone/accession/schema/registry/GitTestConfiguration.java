@@ -16,15 +16,20 @@ import org.springframework.util.FileSystemUtils;
 @TestConfiguration
 public class GitTestConfiguration {
 
+  /**
+   * URI of the remote repository.
+   */
+  public static final String REMOTE_URI;
+
   static {
     try {
-      prepareRemoteGitRepository();
+      REMOTE_URI = prepareRemoteGitRepository();
     } catch (GitAPIException | IOException e) {
       throw new IllegalStateException("Cannot prepare Git remote repository", e);
     }
   }
 
-  private static void prepareRemoteGitRepository() throws GitAPIException, IOException {
+  private static String prepareRemoteGitRepository() throws GitAPIException, IOException {
     Path workTree = Files.createTempDirectory("remote");
     Runtime.getRuntime().addShutdownHook(new Thread() {
       @Override
@@ -62,5 +67,6 @@ public class GitTestConfiguration {
     git.branchRename()
         .setNewName("main")
         .call();
+    return workTree.toString();
   }
 }
@@ -0,0 +1,142 @@
+package com.github.pukkaone.accession.schema.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.controller.SchemaController;
+import com.github.pukkaone.accession.schema.registry.controller.SubjectController;
+import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Tests metrics recorded while answering requests.
+ */
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(GitTestConfiguration.class)
+@SpringBootTest
+class MetricsTest {
+
+  private static final String SUBJECT1 = "topic1-value";
+
+  @Value("classpath:unregistered.avsc")
+  private Resource unregisteredSchemaFile;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private long countLookups(String operation) {
+    var timer = meterRegistry.find("schema.registry.lookup")
+        .tag("operation", operation)
+        .timer();
+    return (timer == null) ? 0 : timer.count();
+  }
+
+  private double countNotFound(int errorCode) {
+    var counter = meterRegistry.find("schema.registry.not.found")
+        .tag("error_code", String.valueOf(errorCode))
+        .counter();
+    return (counter == null) ? 0 : counter.count();
+  }
+
+  private double countFingerprintCache(String result) {
+    return meterRegistry.get("schema.registry.fingerprint.cache")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @Test
+  void when_get_schema_by_schema_id_then_record_lookup() throws Exception {
+    long before = countLookups("findRegistrationBySchemaId");
+
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    mockMvc.perform(
+            get(uri, 1234567001))
+        .andExpect(status().isOk());
+
+    assertThat(countLookups("findRegistrationBySchemaId")).isEqualTo(before + 1);
+  }
+
+  @Test
+  void given_unknown_schema_id_when_get_schema_by_schema_id_then_count_not_found()
+      throws Exception {
+
+    double before = countNotFound(ErrorResponse.SCHEMA_NOT_FOUND_CODE);
+
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    mockMvc.perform(
+            get(uri, 1234567999))
+        .andExpect(status().isNotFound());
+
+    assertThat(countNotFound(ErrorResponse.SCHEMA_NOT_FOUND_CODE)).isEqualTo(before + 1);
+  }
+
+  @Test
+  void given_repeated_schema_when_get_schema_id_by_schema_then_count_cache_miss_and_hit()
+      throws Exception {
+
+    String uri = SubjectController.BASE_PATH +
+        SubjectController.GET_SCHEMA_ID_BY_SUBJECT_AND_SCHEMA_PATH;
+    var requestBody = SchemaRequest.builder()
+        .schema(StreamUtils.copyToString(
+            unregisteredSchemaFile.getInputStream(), StandardCharsets.UTF_8))
+        .build();
+
+    final double hitsBefore = countFingerprintCache("hit");
+    final double missesBefore = countFingerprintCache("miss");
+    final double notRegisteredBefore = countNotFound(ErrorResponse.NOT_REGISTERED_CODE);
+    for (int i = 0; i < 2; ++i) {
+      mockMvc.perform(
+              post(uri, SUBJECT1)
+                  .contentType(MediaTypes.APPLICATION_SCHEMA_REGISTRY)
+                  .content(objectMapper.writeValueAsBytes(requestBody)))
+          .andExpect(status().isUnprocessableEntity());
+    }
+
+    assertThat(countNotFound(ErrorResponse.NOT_REGISTERED_CODE)).isEqualTo(notRegisteredBefore + 2);
+    assertThat(countFingerprintCache("miss")).isEqualTo(missesBefore + 1);
+    assertThat(countFingerprintCache("hit")).isEqualTo(hitsBefore + 1);
+  }
+
+  @Test
+  void when_get_prometheus_then_expose_metrics() throws Exception {
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    mockMvc.perform(
+            get(uri, 1234567001))
+        .andExpect(status().isOk());
+
+    String body = mockMvc.perform(
+            get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    assertThat(body)
+        .contains("schema_registry_lookup_seconds_count{operation=\"findRegistrationBySchemaId\"")
+        .contains("schema_registry_fingerprint_cache_total");
+  }
+}
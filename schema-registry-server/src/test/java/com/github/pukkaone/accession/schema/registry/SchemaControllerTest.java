@@ -1,23 +1,34 @@
 package com.github.pukkaone.accession.schema.registry;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.pukkaone.accession.schema.registry.controller.CustomExceptionHandler;
+import com.github.pukkaone.accession.schema.registry.controller.ExportController;
 import com.github.pukkaone.accession.schema.registry.controller.MediaTypes;
+import com.github.pukkaone.accession.schema.registry.controller.RegistryLookup;
 import com.github.pukkaone.accession.schema.registry.controller.SchemaController;
 import com.github.pukkaone.accession.schema.registry.controller.SubjectController;
+import com.github.pukkaone.accession.schema.registry.controller.WebhookController;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistryHealthIndicator;
+import com.github.pukkaone.accession.schema.registry.function.SchemaUtils;
 import com.github.pukkaone.accession.schema.registry.model.ErrorResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemaIdErrorResponse;
 import com.github.pukkaone.accession.schema.registry.model.SchemaRequest;
 import com.github.pukkaone.accession.schema.registry.model.SchemaResponse;
+import com.github.pukkaone.accession.schema.registry.model.SchemasResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,6 +37,8 @@ import org.springframework.boot.test.json.BasicJsonTester;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.StreamUtils;
 
@@ -66,6 +79,9 @@ class SchemaControllerTest {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private SchemaRegistryHealthIndicator schemaRegistryHealthIndicator;
+
   private static String copyToString(Resource resource) throws IOException {
     return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
   }
@@ -84,6 +100,91 @@ class SchemaControllerTest {
     assertThat(registration.getSchema()).isEqualTo(copyToString(schemaFile1));
   }
 
+  @Test
+  void given_matching_etag_when_get_schema_by_schema_id_then_not_modified() throws Exception {
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMA_BY_SCHEMA_ID_PATH;
+    String etag = mockMvc.perform(
+            get(uri, 1234567001))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotBlank();
+
+    mockMvc.perform(
+            get(uri, 1234567001)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void given_unknown_schema_id_when_get_schemas_by_schema_ids_then_report_error()
+      throws Exception {
+
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMAS_BY_SCHEMA_IDS_PATH;
+    var response = mockMvc.perform(
+            post(uri)
+                .content("[1234567001,1234567999,1234568001]"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+
+    var schemas = objectMapper.readValue(response.getContentAsByteArray(), SchemasResponse.class);
+    assertThat(schemas.getSchemas()).extracting(SchemaResponse::getId)
+        .containsExactly(1234567001);
+    assertThat(schemas.getSchemas().get(0).getSchema()).isEqualTo(copyToString(schemaFile1));
+    assertThat(schemas.getErrors()).extracting(SchemaIdErrorResponse::getId)
+        .containsExactly(1234567999, 1234568001);
+  }
+
+  @Test
+  void given_too_many_schema_ids_when_get_schemas_by_schema_ids_then_bad_request()
+      throws Exception {
+
+    String uri = SchemaController.BASE_PATH + SchemaController.GET_SCHEMAS_BY_SCHEMA_IDS_PATH;
+    var schemaIds = Collections.nCopies(RegistryLookup.MAX_SCHEMA_IDS + 1, 1234567001);
+    mockMvc.perform(
+            post(uri)
+                .content(objectMapper.writeValueAsBytes(schemaIds)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void when_get_registrations_by_fingerprint_then_return_registration_in_each_subject()
+      throws Exception {
+
+    String uri =
+        SchemaController.BASE_PATH + SchemaController.GET_REGISTRATIONS_BY_FINGERPRINT_PATH;
+    long fingerprint = SchemaUtils.fingerprint(copyToString(schemaFile1));
+    var response = mockMvc.perform(
+            get(uri, fingerprint))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+
+    var responseJson = JSON.from(response.getContentAsByteArray());
+    assertThat(responseJson).extractingJsonPathArrayValue("$[*].subject")
+        .containsExactlyInAnyOrder(SUBJECT1, SUBJECT2);
+    assertThat(responseJson).extractingJsonPathArrayValue("$[*].version")
+        .containsExactly(1, 1);
+  }
+
+  @Test
+  void given_unknown_fingerprint_when_get_registrations_by_fingerprint_then_not_found()
+      throws Exception {
+
+    String uri =
+        SchemaController.BASE_PATH + SchemaController.GET_REGISTRATIONS_BY_FINGERPRINT_PATH;
+    var response = mockMvc.perform(
+            get(uri, 42L))
+        .andExpect(status().isNotFound())
+        .andReturn()
+        .getResponse();
+
+    var error = objectMapper.readValue(response.getContentAsByteArray(), ErrorResponse.class);
+    assertThat(error.getErrorCode()).isEqualTo(CustomExceptionHandler.SCHEMA_NOT_FOUND_CODE);
+  }
+
   @Test
   void when_get_subjects() throws Exception {
     var response = mockMvc.perform(
@@ -217,4 +318,38 @@ class SchemaControllerTest {
     var schema = response.getContentAsString();
     assertThat(schema).isEqualTo(copyToString(schemaFile1));
   }
+
+  @Test
+  void when_export_then_write_line_per_registration() throws Exception {
+    var asyncResult = mockMvc.perform(
+            get(ExportController.BASE_PATH))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    var response = mockMvc.perform(asyncDispatch(asyncResult))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+
+    assertThat(response.getHeader(ExportController.COMMIT_ID_HEADER)).isNotBlank();
+    String[] lines = response.getContentAsString().split("\n");
+    assertThat(lines).hasSize(4);
+    var registration = objectMapper.readValue(lines[0], SchemaResponse.class);
+    assertThat(registration.getId()).isEqualTo(1234567001);
+    assertThat(registration.getSubject()).isEqualTo(SUBJECT1);
+  }
+
+  @Test
+  void when_push_webhook_then_accepted() throws Exception {
+    String uri = WebhookController.BASE_PATH + WebhookController.PUSH_PATH;
+    mockMvc.perform(
+            post(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ref\":\"refs/heads/main\"}"))
+        .andExpect(status().isAccepted());
+  }
+
+  @Test
+  void given_loaded_schema_registry_then_ready() {
+    assertThat(schemaRegistryHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+  }
 }
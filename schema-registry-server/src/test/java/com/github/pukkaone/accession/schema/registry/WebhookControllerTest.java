@@ -0,0 +1,115 @@
+package com.github.pukkaone.accession.schema.registry;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.pukkaone.accession.schema.registry.controller.WebhookController;
+import com.github.pukkaone.accession.schema.registry.domain.SchemaRegistrySupplier;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Tests push webhook endpoint.
+ */
+@AutoConfigureMockMvc
+@Import(GitTestConfiguration.class)
+@SpringBootTest(properties = {
+    "schema.registry.server.git.refresh-debounce=200ms",
+    "schema.registry.server.git.refresh-interval=1h",
+    "schema.registry.server.git.webhook-secret=" + WebhookControllerTest.SECRET
+})
+class WebhookControllerTest {
+
+  static final String SECRET = "secret";
+
+  private static final String URI = WebhookController.BASE_PATH + WebhookController.PUSH_PATH;
+  private static final String LABEL_PUSH = "{\"ref\":\"refs/heads/main\"}";
+  private static final String OTHER_PUSH = "{\"ref\":\"refs/heads/other\"}";
+  private static final long WAIT_MILLIS = 5000;
+  private static final long QUIET_MILLIS = 1000;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoSpyBean
+  private SchemaRegistrySupplier schemaRegistrySupplier;
+
+  private static MockHttpServletRequestBuilder push(String content) {
+    return post(URI)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(content);
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    clearInvocations(schemaRegistrySupplier);
+  }
+
+  @Test
+  void given_burst_of_pushes_to_label_when_push_then_refresh_once() throws Exception {
+    for (int i = 0; i < 5; ++i) {
+      mockMvc.perform(
+              push(LABEL_PUSH)
+                  .header(WebhookController.GITLAB_TOKEN_HEADER, SECRET))
+          .andExpect(status().isAccepted());
+    }
+
+    verify(schemaRegistrySupplier, timeout(WAIT_MILLIS)).refresh();
+    verify(schemaRegistrySupplier, after(QUIET_MILLIS)).refresh();
+  }
+
+  @Test
+  void given_github_signature_when_push_then_refresh() throws Exception {
+    String signature = WebhookController.sign(
+        SECRET, LABEL_PUSH.getBytes(StandardCharsets.UTF_8));
+    mockMvc.perform(
+            push(LABEL_PUSH)
+                .header(WebhookController.GITHUB_SIGNATURE_HEADER, signature))
+        .andExpect(status().isAccepted());
+
+    verify(schemaRegistrySupplier, timeout(WAIT_MILLIS)).refresh();
+  }
+
+  @Test
+  void given_push_to_other_ref_when_push_then_ignore() throws Exception {
+    mockMvc.perform(
+            push(OTHER_PUSH)
+                .header(WebhookController.GITLAB_TOKEN_HEADER, SECRET))
+        .andExpect(status().isAccepted());
+
+    verify(schemaRegistrySupplier, after(QUIET_MILLIS).never()).refresh();
+  }
+
+  @Test
+  void given_wrong_github_signature_when_push_then_unauthorized() throws Exception {
+    String signature = WebhookController.sign(
+        "wrong", LABEL_PUSH.getBytes(StandardCharsets.UTF_8));
+    mockMvc.perform(
+            push(LABEL_PUSH)
+                .header(WebhookController.GITHUB_SIGNATURE_HEADER, signature))
+        .andExpect(status().isUnauthorized());
+
+    verify(schemaRegistrySupplier, after(QUIET_MILLIS).never()).refresh();
+  }
+
+  @Test
+  void given_no_token_when_push_then_unauthorized() throws Exception {
+    mockMvc.perform(push(LABEL_PUSH))
+        .andExpect(status().isUnauthorized());
+
+    verify(schemaRegistrySupplier, after(QUIET_MILLIS).never()).refresh();
+  }
+}
@@ -0,0 +1,46 @@
+package com.github.pukkaone.accession.schema.registry.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.pukkaone.accession.schema.registry.domain.NotFoundException;
+import com.github.pukkaone.accession.schema.registry.domain.NotRegisteredException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Tests error responses reuse the serialized body of the exception.
+ */
+class CustomExceptionHandlerTest {
+
+  private final CustomExceptionHandler handler =
+      new CustomExceptionHandler(new SimpleMeterRegistry());
+
+  @Test
+  void given_not_found_when_handle_again_then_same_body() {
+    var exception = new NotFoundException("Subject name [unknown-value] not found");
+
+    var first = handler.handleNotFound(exception);
+    var second = handler.handleNotFound(exception);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(first.getHeaders().getContentType())
+        .isEqualTo(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE);
+    assertThat(first.getBody()).isSameAs(exception.getBody());
+    assertThat(second.getBody()).isSameAs(first.getBody());
+  }
+
+  @Test
+  void given_not_registered_when_handle_again_then_same_body() {
+    var exception = new NotRegisteredException("Schema not registered for subject [topic1-value]");
+
+    var first = handler.handleNotRegistered(exception);
+    var second = handler.handleNotRegistered(exception);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    assertThat(first.getHeaders().getContentType())
+        .isEqualTo(MediaTypes.APPLICATION_SCHEMA_REGISTRY_TYPE);
+    assertThat(first.getBody()).isSameAs(exception.getBody());
+    assertThat(second.getBody()).isSameAs(first.getBody());
+  }
+}
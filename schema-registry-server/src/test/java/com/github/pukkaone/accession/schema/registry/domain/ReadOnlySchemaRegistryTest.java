@@ -0,0 +1,183 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.pukkaone.accession.schema.registry.function.SchemaUtils;
+import com.github.pukkaone.accession.schema.registry.repository.WorkingTreeSubjectSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Tests reading subjects from a directory.
+ */
+class ReadOnlySchemaRegistryTest {
+
+  private static final String SUBJECT1_DIR = "1234567_topic1-value";
+  private static final String SUBJECT2_DIR = "2345678_topic2-value";
+
+  @TempDir
+  Path subjectsDir;
+
+  private void copySchema(String resourceName, String subjectDirName, String fileName)
+      throws IOException {
+
+    Path subjectDir = Files.createDirectories(subjectsDir.resolve(subjectDirName));
+    try (InputStream input = new ClassPathResource(resourceName).getInputStream()) {
+      Files.copy(input, subjectDir.resolve(fileName));
+    }
+  }
+
+  private WorkingTreeSubjectSource source() {
+    return new WorkingTreeSubjectSource(subjectsDir);
+  }
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    copySchema("001.avsc", SUBJECT1_DIR, "001.avsc");
+    copySchema("002.avsc", SUBJECT1_DIR, "002.avsc");
+    copySchema("001.avsc", SUBJECT2_DIR, "001.avsc");
+  }
+
+  @Test
+  void when_construct_then_read_all_subjects() {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+
+    assertThat(registry.findSubjectNames()).containsExactlyInAnyOrder(
+        "topic1-value", "topic2-value");
+    assertThat(registry.findVersionsBySubjectName("topic1-value")).containsExactly(1, 2);
+    assertThat(registry.findSchemaBySchemaId(1234567002).getSchema()).isNotBlank();
+  }
+
+  @Test
+  void given_changed_subject_when_with_changed_subjects_then_share_unchanged_subjects()
+      throws IOException {
+
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+    copySchema("002.avsc", SUBJECT2_DIR, "002.avsc");
+
+    var newRegistry = registry.withChangedSubjects(null, source(), List.of(SUBJECT2_DIR));
+
+    assertThat(newRegistry.findVersionsBySubjectName("topic2-value")).containsExactly(1, 2);
+    assertThat(newRegistry.getSubjectIdToSubjectMap().get(1234567))
+        .isSameAs(registry.getSubjectIdToSubjectMap().get(1234567));
+    assertThat(registry.findVersionsBySubjectName("topic2-value")).containsExactly(1);
+  }
+
+  @Test
+  void given_renamed_subject_when_with_changed_subjects_then_same_as_full_read()
+      throws IOException {
+
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+    String renamedDir = "1234567_topic1-renamed";
+    Files.move(subjectsDir.resolve(SUBJECT1_DIR), subjectsDir.resolve(renamedDir));
+
+    // The new name sorts before the old name.
+    var newRegistry = registry.withChangedSubjects(
+        null, source(), List.of(renamedDir, SUBJECT1_DIR));
+
+    assertThat(newRegistry.findSubjectNames()).containsExactlyInAnyOrder(
+        "topic1-renamed", "topic2-value");
+    assertThat(newRegistry.findVersionsBySubjectName("topic1-renamed")).containsExactly(1, 2);
+    assertThat(newRegistry.findSchemaBySchemaId(1234567002).getSchema()).isNotBlank();
+    assertThat(newRegistry.getSubjectIdToSubjectMap().get(1234567).getSubjectName())
+        .isEqualTo("topic1-renamed");
+  }
+
+  @Test
+  void given_deleted_subject_when_with_changed_subjects_then_remove_subject() throws IOException {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+    FileSystemUtils.deleteRecursively(subjectsDir.resolve(SUBJECT1_DIR));
+
+    var newRegistry = registry.withChangedSubjects(null, source(), List.of(SUBJECT1_DIR));
+
+    assertThat(newRegistry.findSubjectNames()).containsExactly("topic2-value");
+    assertThatThrownBy(() -> newRegistry.findSchemaBySchemaId(1234567001))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  void given_unregistered_fingerprint_when_find_again_then_reuse_exception() {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+
+    Throwable first = catchThrowable(
+        () -> registry.findRegistrationBySubjectNameAndFingerprint("topic1-value", 42L));
+    Throwable second = catchThrowable(
+        () -> registry.findRegistrationBySubjectNameAndFingerprint("topic1-value", 42L));
+
+    assertThat(first).isInstanceOf(NotRegisteredException.class);
+    assertThat(second).isSameAs(first);
+    assertThat(first.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void given_unknown_subject_when_find_again_then_reuse_exception() {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+
+    Throwable first = catchThrowable(() -> registry.findVersionsBySubjectName("unknown-value"));
+    Throwable second = catchThrowable(() -> registry.findVersionsBySubjectName("unknown-value"));
+
+    assertThat(first).isInstanceOf(NotFoundException.class);
+    assertThat(second).isSameAs(first);
+    assertThat(((NotFoundException) second).getBody())
+        .isSameAs(((NotFoundException) first).getBody());
+  }
+
+  @Test
+  void given_unknown_schema_id_when_find_again_then_reuse_exception() {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+
+    Throwable first = catchThrowable(() -> registry.findSchemaBySchemaId(1234567999));
+    Throwable second = catchThrowable(() -> registry.findSchemaBySchemaId(1234567999));
+
+    assertThat(first).isInstanceOf(NotFoundException.class);
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void given_unknown_subject_when_find_by_fingerprint_then_do_not_compute_fingerprint() {
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+
+    assertThatThrownBy(() -> registry.findRegistrationBySubjectNameAndFingerprint(
+        "unknown-value",
+        () -> {
+          throw new AssertionError("Should not compute fingerprint");
+        }))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  private static long fingerprint(String resourceName) throws IOException {
+    try (InputStream input = new ClassPathResource(resourceName).getInputStream()) {
+      return SchemaUtils.fingerprint(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void given_deleted_subject_when_with_changed_subjects_then_remove_from_fingerprint_index()
+      throws IOException {
+
+    var registry = new ReadOnlySchemaRegistry(subjectsDir);
+    long fingerprint = fingerprint("001.avsc");
+    assertThat(registry.findRegistrationsByFingerprint(fingerprint))
+        .extracting(Registration::getSubjectName)
+        .containsExactlyInAnyOrder("topic1-value", "topic2-value");
+    FileSystemUtils.deleteRecursively(subjectsDir.resolve(SUBJECT2_DIR));
+
+    var newRegistry = registry.withChangedSubjects(null, source(), List.of(SUBJECT2_DIR));
+
+    assertThat(newRegistry.findRegistrationsByFingerprint(fingerprint))
+        .extracting(Registration::getSubjectName)
+        .containsExactly("topic1-value");
+    assertThat(registry.findRegistrationsByFingerprint(fingerprint)).hasSize(2);
+  }
+}
@@ -0,0 +1,227 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties.RefreshMode;
+import com.github.pukkaone.accession.schema.registry.function.FingerprintCache;
+import com.github.pukkaone.accession.schema.registry.repository.GitRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests pulling on demand.
+ */
+class SchemaRegistrySupplierTest {
+
+  private static final String COMMIT_ID = "0123456789abcdef0123456789abcdef01234567";
+  private static final int CLIENT_COUNT = 8;
+  private static final long WAIT_SECONDS = 5;
+
+  /**
+   * Git repository that counts pulls, and can make them slow or fail, without a remote.
+   */
+  private static class StubGitRepository extends GitRepository {
+
+    private final Path workingDir;
+    private final AtomicInteger refreshCount = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private volatile boolean fail;
+
+    StubGitRepository(SchemaRegistryProperties properties, MeterRegistry meterRegistry,
+        Path workingDir) {
+
+      super(properties, meterRegistry);
+      this.workingDir = workingDir;
+    }
+
+    @Override
+    public Path getWorkingDir() {
+      return workingDir;
+    }
+
+    @Override
+    public String refresh() {
+      refreshCount.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      if (fail) {
+        throw new IllegalStateException("Cannot pull");
+      }
+
+      return COMMIT_ID;
+    }
+
+    @Override
+    public Instant getCommitTime(String commitId) {
+      return Instant.EPOCH;
+    }
+  }
+
+  @TempDir
+  Path tempDir;
+
+  private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+  private final ExecutorService clients = Executors.newFixedThreadPool(CLIENT_COUNT);
+  private final SchemaRegistryProperties properties = new SchemaRegistryProperties();
+  private StubGitRepository gitRepository;
+
+  @BeforeEach
+  void beforeEach() throws IOException {
+    Path subjectDir = Files.createDirectories(tempDir.resolve("1234567_topic1-value"));
+    try (InputStream input = new ClassPathResource("001.avsc").getInputStream()) {
+      Files.copy(input, subjectDir.resolve("001.avsc"));
+    }
+
+    properties.setUri("file:///schemas");
+    properties.setLabel("main");
+    properties.setRefreshMode(RefreshMode.ON_DEMAND);
+    properties.setRefreshTtl(Duration.ofHours(1));
+    properties.setRefreshTimeout(Duration.ofSeconds(WAIT_SECONDS));
+
+    taskScheduler.setPoolSize(2);
+    taskScheduler.initialize();
+  }
+
+  @AfterEach
+  void afterEach() {
+    gitRepository.release.countDown();
+    clients.shutdownNow();
+    taskScheduler.shutdown();
+  }
+
+  private SchemaRegistrySupplier createSchemaRegistrySupplier() {
+    var meterRegistry = new SimpleMeterRegistry();
+    gitRepository = new StubGitRepository(properties, meterRegistry, tempDir);
+    var supplier = new SchemaRegistrySupplier(
+        properties,
+        new FingerprintCache(properties, meterRegistry),
+        gitRepository,
+        new SnapshotFile(properties),
+        meterRegistry,
+        taskScheduler);
+    ReflectionTestUtils.invokeMethod(supplier, "initialize");
+    return supplier;
+  }
+
+  private static void makeStale(SchemaRegistrySupplier supplier) {
+    ReflectionTestUtils.setField(supplier, "staleAtNanos", System.nanoTime());
+  }
+
+  @Test
+  void given_concurrent_requests_when_stale_then_pull_once()
+      throws ExecutionException, InterruptedException {
+
+    var supplier = createSchemaRegistrySupplier();
+    final ReadOnlySchemaRegistry registry = supplier.getSchemaRegistry();
+    gitRepository.release = new CountDownLatch(1);
+    makeStale(supplier);
+
+    var started = new CountDownLatch(CLIENT_COUNT);
+    List<Future<ReadOnlySchemaRegistry>> results = new ArrayList<>();
+    for (int i = 0; i < CLIENT_COUNT; ++i) {
+      results.add(clients.submit(() -> {
+        started.countDown();
+        return supplier.getSchemaRegistry();
+      }));
+    }
+
+    assertThat(started.await(WAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    TimeUnit.MILLISECONDS.sleep(200);
+    gitRepository.release.countDown();
+    for (Future<ReadOnlySchemaRegistry> result : results) {
+      assertThat(result.get()).isSameAs(registry);
+    }
+
+    assertThat(gitRepository.refreshCount).hasValue(2);
+  }
+
+  @Test
+  void given_last_pull_within_ttl_when_get_then_do_not_pull() {
+    var supplier = createSchemaRegistrySupplier();
+
+    for (int i = 0; i < CLIENT_COUNT; ++i) {
+      supplier.getSchemaRegistry();
+    }
+
+    assertThat(gitRepository.refreshCount).hasValue(1);
+  }
+
+  @Test
+  void given_slow_pull_when_get_then_return_current_registry_after_timeout() {
+    properties.setRefreshTimeout(Duration.ofMillis(100));
+    var supplier = createSchemaRegistrySupplier();
+    ReadOnlySchemaRegistry registry = supplier.getSchemaRegistry();
+    gitRepository.release = new CountDownLatch(1);
+    makeStale(supplier);
+
+    long startNanos = System.nanoTime();
+    assertThat(supplier.getSchemaRegistry()).isSameAs(registry);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    assertThat(elapsedMillis).isBetween(100L, TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+    assertThat(gitRepository.refreshCount).hasValue(2);
+  }
+
+  @Test
+  void given_not_wait_for_refresh_when_get_then_return_current_registry_without_waiting()
+      throws InterruptedException {
+
+    var supplier = createSchemaRegistrySupplier();
+    supplier.setWaitForRefresh(false);
+    ReadOnlySchemaRegistry registry = supplier.getSchemaRegistry();
+    gitRepository.release = new CountDownLatch(1);
+    makeStale(supplier);
+
+    long startNanos = System.nanoTime();
+    assertThat(supplier.getSchemaRegistry()).isSameAs(registry);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    assertThat(elapsedMillis).isLessThan(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+    long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+    while (gitRepository.refreshCount.get() < 2 && System.nanoTime() - deadlineNanos < 0) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+
+    assertThat(gitRepository.refreshCount).hasValue(2);
+  }
+
+  @Test
+  void given_failed_pull_when_get_then_wait_out_ttl() {
+    var supplier = createSchemaRegistrySupplier();
+    ReadOnlySchemaRegistry registry = supplier.getSchemaRegistry();
+    gitRepository.fail = true;
+    makeStale(supplier);
+
+    assertThat(supplier.getSchemaRegistry()).isSameAs(registry);
+    assertThat(supplier.getSchemaRegistry()).isSameAs(registry);
+
+    assertThat(gitRepository.refreshCount).hasValue(2);
+  }
+}
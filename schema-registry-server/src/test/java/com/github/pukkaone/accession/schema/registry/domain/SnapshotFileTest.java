@@ -0,0 +1,68 @@
+package com.github.pukkaone.accession.schema.registry.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import com.github.pukkaone.accession.schema.registry.repository.WorkingTreeSubjectSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Tests saving and loading schema registry snapshots.
+ */
+class SnapshotFileTest {
+
+  private static final String COMMIT_ID = "0123456789abcdef0123456789abcdef01234567";
+
+  @TempDir
+  Path tempDir;
+
+  private SnapshotFile createSnapshotFile(String label) {
+    var properties = new SchemaRegistryProperties();
+    properties.setUri("file:///schemas");
+    properties.setLabel(label);
+    properties.setSnapshotDirectory(tempDir.resolve("snapshot").toString());
+    return new SnapshotFile(properties);
+  }
+
+  private ReadOnlySchemaRegistry createSchemaRegistry() throws IOException {
+    Path subjectsDir = tempDir.resolve("subjects");
+    Path subjectDir = Files.createDirectories(subjectsDir.resolve("1234567_topic1-value"));
+    for (String fileName : new String[] {"001.avsc", "002.avsc"}) {
+      try (InputStream input = new ClassPathResource(fileName).getInputStream()) {
+        Files.copy(input, subjectDir.resolve(fileName));
+      }
+    }
+
+    return new ReadOnlySchemaRegistry(COMMIT_ID, new WorkingTreeSubjectSource(subjectsDir));
+  }
+
+  @Test
+  void given_saved_snapshot_when_load_then_equal_registry() throws IOException {
+    var registry = createSchemaRegistry();
+    createSnapshotFile("main").save(registry);
+
+    var loadedRegistry = createSnapshotFile("main").load();
+
+    assertThat(loadedRegistry.getCommitId()).isEqualTo(COMMIT_ID);
+    assertThat(loadedRegistry.findVersionsBySubjectName("topic1-value")).containsExactly(1, 2);
+    assertThat(loadedRegistry.findRegistrationBySchemaId(1234567002))
+        .usingRecursiveComparison()
+        .isEqualTo(registry.findRegistrationBySchemaId(1234567002));
+    assertThat(loadedRegistry.findRegistrationBySchemaId(1234567002).getBodies())
+        .usingRecursiveComparison()
+        .isEqualTo(registry.findRegistrationBySchemaId(1234567002).getBodies());
+  }
+
+  @Test
+  void given_snapshot_from_other_label_when_load_then_null() throws IOException {
+    createSnapshotFile("main").save(createSchemaRegistry());
+
+    assertThat(createSnapshotFile("other").load()).isNull();
+  }
+}
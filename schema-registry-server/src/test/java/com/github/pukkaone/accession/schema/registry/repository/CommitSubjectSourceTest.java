@@ -0,0 +1,117 @@
+package com.github.pukkaone.accession.schema.registry.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.pukkaone.accession.schema.registry.domain.ReadOnlySchemaRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Tests reading subjects from a Git commit.
+ */
+class CommitSubjectSourceTest {
+
+  private static final String SUBJECTS_DIRECTORY = "schemas/avro";
+  private static final String SUBJECT1_DIR = "1234567_topic1-value";
+  private static final String SUBJECT2_DIR = "1234568_topic2-value";
+
+  @TempDir
+  Path workTree;
+
+  private Git git;
+  private ObjectId commitId;
+
+  private void copySchema(String resourceName, String subjectDirName, String fileName)
+      throws IOException {
+
+    Path subjectDir = Files.createDirectories(
+        workTree.resolve(SUBJECTS_DIRECTORY).resolve(subjectDirName));
+    try (InputStream input = new ClassPathResource(resourceName).getInputStream()) {
+      Files.copy(input, subjectDir.resolve(fileName));
+    }
+  }
+
+  @BeforeEach
+  void beforeEach() throws IOException, GitAPIException {
+    copySchema("001.avsc", SUBJECT1_DIR, "001.avsc");
+    copySchema("002.avsc", SUBJECT1_DIR, "002.avsc");
+    copySchema("001.avsc", SUBJECT2_DIR, "001.avsc");
+
+    git = Git.init()
+        .setDirectory(workTree.toFile())
+        .call();
+    git.add()
+        .addFilepattern(".")
+        .call();
+    commitId = git.commit()
+        .setMessage("Add subjects")
+        .call()
+        .getId();
+  }
+
+  private CommitSubjectSource openCommit(String subjectsDirectory) {
+    return new CommitSubjectSource(git.getRepository(), commitId, subjectsDirectory);
+  }
+
+  private WorkingTreeSubjectSource openWorkingTree() {
+    return new WorkingTreeSubjectSource(workTree.resolve(SUBJECTS_DIRECTORY));
+  }
+
+  @Test
+  void when_list_subject_directory_names_then_same_as_working_tree() {
+    try (CommitSubjectSource source = openCommit(SUBJECTS_DIRECTORY)) {
+      assertThat(source.listSubjectDirectoryNames())
+          .containsExactlyInAnyOrderElementsOf(openWorkingTree().listSubjectDirectoryNames());
+    }
+  }
+
+  @Test
+  void when_read_files_then_same_as_working_tree() {
+    try (CommitSubjectSource source = openCommit(SUBJECTS_DIRECTORY)) {
+      assertThat(source.readFiles(SUBJECT1_DIR))
+          .containsOnlyKeys("001.avsc", "002.avsc")
+          .isEqualTo(openWorkingTree().readFiles(SUBJECT1_DIR));
+    }
+  }
+
+  @Test
+  void given_missing_subject_directory_when_read_files_then_null() {
+    try (CommitSubjectSource source = openCommit(SUBJECTS_DIRECTORY)) {
+      assertThat(source.readFiles("1234569_topic3-value")).isNull();
+    }
+  }
+
+  @Test
+  void when_construct_schema_registry_then_same_subjects_and_versions_as_working_tree() {
+    var workingTreeRegistry = new ReadOnlySchemaRegistry(commitId.name(), openWorkingTree());
+    ReadOnlySchemaRegistry commitRegistry;
+    try (CommitSubjectSource source = openCommit(SUBJECTS_DIRECTORY)) {
+      commitRegistry = new ReadOnlySchemaRegistry(commitId.name(), source);
+    }
+
+    assertThat(commitRegistry.findSubjectNames())
+        .containsExactlyInAnyOrderElementsOf(workingTreeRegistry.findSubjectNames());
+    assertThat(commitRegistry.findVersionsBySubjectName("topic1-value")).containsExactly(1, 2);
+    assertThat(commitRegistry.findVersionsBySubjectName("topic2-value")).containsExactly(1);
+    assertThat(commitRegistry.getSchemaIdToRegistrationMap())
+        .containsOnlyKeys(workingTreeRegistry.getSchemaIdToRegistrationMap().keySet());
+    assertThat(commitRegistry.findRegistrationBySchemaId(1234567002).getSchema())
+        .isEqualTo(workingTreeRegistry.findRegistrationBySchemaId(1234567002).getSchema());
+  }
+
+  @Test
+  void given_missing_subjects_directory_when_construct_then_error() {
+    assertThatThrownBy(() -> openCommit("missing"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
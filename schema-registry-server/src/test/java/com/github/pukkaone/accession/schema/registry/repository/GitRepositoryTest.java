@@ -0,0 +1,164 @@
+package com.github.pukkaone.accession.schema.registry.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.pukkaone.accession.schema.registry.GitTestConfiguration;
+import com.github.pukkaone.accession.schema.registry.config.SchemaRegistryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests cloning, reopening and cloning again.
+ */
+class GitRepositoryTest {
+
+  private static final String CLONES_COUNTER = "schema.registry.git.clones";
+
+  @TempDir
+  Path tempDir;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private SchemaRegistryProperties createProperties(Path directory, boolean bare) {
+    var properties = new SchemaRegistryProperties();
+    properties.setUri(GitTestConfiguration.REMOTE_URI);
+    properties.setLabel("main");
+    properties.setBare(bare);
+    properties.setDirectory(directory.toString());
+    return properties;
+  }
+
+  private GitRepository createGitRepository(Path directory, boolean bare) {
+    var gitRepository = new GitRepository(createProperties(directory, bare), meterRegistry);
+    ReflectionTestUtils.invokeMethod(gitRepository, "initialize");
+    return gitRepository;
+  }
+
+  private double countClones() {
+    return meterRegistry.counter(CLONES_COUNTER).count();
+  }
+
+  private static String resolveRemoteHead() throws IOException {
+    try (Git remote = Git.open(Path.of(GitTestConfiguration.REMOTE_URI).toFile())) {
+      return remote.getRepository()
+          .resolve(Constants.HEAD)
+          .getName();
+    }
+  }
+
+  @Test
+  void given_new_directory_when_refresh_then_clone() throws IOException {
+    Path directory = tempDir.resolve("clone");
+
+    String commitId = createGitRepository(directory, false).refresh();
+
+    assertThat(commitId).isEqualTo(resolveRemoteHead());
+    assertThat(directory.resolve("1234567_topic1-value/001.avsc")).exists();
+    assertThat(directory.resolve(Constants.DOT_GIT).resolve(GitRepository.MARKER_FILE_NAME))
+        .exists();
+    assertThat(countClones()).isEqualTo(1);
+  }
+
+  @Test
+  void given_empty_directory_when_refresh_then_clone() throws IOException {
+    Path directory = Files.createDirectory(tempDir.resolve("clone"));
+
+    String commitId = createGitRepository(directory, false).refresh();
+
+    assertThat(commitId).isEqualTo(resolveRemoteHead());
+    assertThat(countClones()).isEqualTo(1);
+  }
+
+  @Test
+  void given_existing_clone_when_refresh_then_reopen() throws IOException {
+    Path directory = tempDir.resolve("clone");
+    createGitRepository(directory, false).refresh();
+
+    String commitId = createGitRepository(directory, false).refresh();
+
+    assertThat(commitId).isEqualTo(resolveRemoteHead());
+    assertThat(countClones()).isEqualTo(1);
+  }
+
+  @Test
+  void given_clone_not_matching_bare_when_refresh_then_clone_again() throws IOException {
+    Path directory = tempDir.resolve("clone");
+    createGitRepository(directory, false).refresh();
+
+    String commitId = createGitRepository(directory, true).refresh();
+
+    assertThat(commitId).isEqualTo(resolveRemoteHead());
+    assertThat(directory.resolve(Constants.DOT_GIT)).doesNotExist();
+    assertThat(directory.resolve(GitRepository.MARKER_FILE_NAME)).exists();
+    assertThat(countClones()).isEqualTo(2);
+  }
+
+  @Test
+  void given_clone_again_when_refresh_then_replace_clone_without_leftover_directories()
+      throws IOException {
+
+    Path directory = tempDir.resolve("clone");
+    createGitRepository(directory, false).refresh();
+
+    createGitRepository(directory, true).refresh();
+
+    assertThat(directory.resolve(GitRepository.MARKER_FILE_NAME)).exists();
+    assertThat(tempDir.resolve("clone.new")).doesNotExist();
+    assertThat(tempDir.resolve("clone.old")).doesNotExist();
+  }
+
+  @Test
+  void given_checkout_of_configured_repository_when_initialize_then_fail_without_deleting()
+      throws GitAPIException {
+
+    // A checkout someone made themselves has the configured remote but no marker file.
+    Path directory = tempDir.resolve("checkout");
+    Git.cloneRepository()
+        .setURI(GitTestConfiguration.REMOTE_URI)
+        .setDirectory(directory.toFile())
+        .call()
+        .close();
+
+    assertThatThrownBy(() -> createGitRepository(directory, false))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("will not be deleted");
+    assertThat(directory.resolve("1234567_topic1-value/001.avsc")).exists();
+  }
+
+  @Test
+  void given_unrelated_directory_when_initialize_then_fail_without_deleting() throws IOException {
+    Path directory = Files.createDirectory(tempDir.resolve("unrelated"));
+    Path file = Files.writeString(directory.resolve("keep.txt"), "keep");
+
+    assertThatThrownBy(() -> createGitRepository(directory, false))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("will not be deleted");
+    assertThat(file).exists();
+  }
+
+  @Test
+  void given_clone_of_other_repository_when_initialize_then_fail_without_deleting()
+      throws GitAPIException {
+
+    Path directory = tempDir.resolve("other");
+    Git.init()
+        .setDirectory(directory.toFile())
+        .call()
+        .close();
+
+    assertThatThrownBy(() -> createGitRepository(directory, false))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("will not be deleted");
+    assertThat(directory.resolve(Constants.DOT_GIT)).exists();
+  }
+}